@@ -1,5 +1,6 @@
 plugins {
     alias(libs.plugins.fabric.loom)
+    alias(libs.plugins.jmh)
 }
 
 base {
@@ -50,6 +51,11 @@ dependencies {
     testRuntimeOnly(libs.junitLauncher)
 }
 
+jmh {
+    // Benchmarks are run on demand with ./gradlew jmh; they are not part of build or test
+    includeTests = false
+}
+
 java {
     toolchain {
         languageVersion.set(JavaLanguageVersion.of(libs.versions.jdk.get().toInt()))
@@ -0,0 +1,94 @@
+package com.cope.meteoraddons.icons;
+
+import org.lwjgl.system.MemoryUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the old makePixelArray + per-byte swizzle path with PixelConverter.
+ * Run with: ./gradlew jmh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PixelConverterBenchmark {
+    @Param({"32", "64", "128"})
+    public int size;
+
+    private int pixelCount;
+    private long imageAddress;
+    private final PixelBufferPool pool = new PixelBufferPool(4);
+
+    @Setup
+    public void setup() {
+        pixelCount = size * size;
+        imageAddress = MemoryUtil.nmemAlloc(pixelCount * 4L);
+        for (int i = 0; i < pixelCount; i++) {
+            MemoryUtil.memPutInt(imageAddress + i * 4L, 0xFF000000 | ((i * 0x9E3779B1) & 0x00FFFFFF));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        MemoryUtil.nmemFree(imageAddress);
+    }
+
+    /**
+     * Previous IconPreloadSystem path: NativeImage.makePixelArray (ABGR→ARGB
+     * into a fresh int[]) followed by a per-byte ARGB→RGBA loop into a fresh byte[].
+     */
+    @Benchmark
+    public byte[] legacyPixelArrayLoop() {
+        int[] pixels = new int[pixelCount];
+        for (int i = 0; i < pixelCount; i++) {
+            int abgr = MemoryUtil.memGetInt(imageAddress + i * 4L);
+            pixels[i] = (abgr & 0xFF00FF00) | ((abgr & 0x00FF0000) >> 16) | ((abgr & 0x000000FF) << 16);
+        }
+
+        byte[] bytes = new byte[pixelCount * 4];
+        for (int i = 0; i < pixels.length; i++) {
+            int color = pixels[i];
+            bytes[i * 4] = (byte) ((color >> 16) & 0xFF);
+            bytes[i * 4 + 1] = (byte) ((color >> 8) & 0xFF);
+            bytes[i * 4 + 2] = (byte) (color & 0xFF);
+            bytes[i * 4 + 3] = (byte) ((color >> 24) & 0xFF);
+        }
+        return bytes;
+    }
+
+    @Benchmark
+    public ByteBuffer pooledBulkCopy() {
+        ByteBuffer buffer = pool.acquire(pixelCount * 4);
+        PixelConverter.copyRgba(imageAddress, buffer, pixelCount);
+        pool.release(buffer);
+        return buffer;
+    }
+
+    /**
+     * Previous createDefaultTexture fill.
+     */
+    @Benchmark
+    public byte[] legacySolidFill() {
+        byte[] pixels = new byte[pixelCount * 4];
+        for (int i = 0; i < pixels.length; i += 4) {
+            pixels[i] = (byte) 128;
+            pixels[i + 1] = (byte) 128;
+            pixels[i + 2] = (byte) 128;
+            pixels[i + 3] = (byte) 255;
+        }
+        return pixels;
+    }
+
+    @Benchmark
+    public ByteBuffer pooledSolidFill() {
+        ByteBuffer buffer = pool.acquire(pixelCount * 4);
+        PixelConverter.fill(buffer, pixelCount, 128, 128, 128, 255);
+        pool.release(buffer);
+        return buffer;
+    }
+}
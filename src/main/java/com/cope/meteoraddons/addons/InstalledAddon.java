@@ -1,11 +1,14 @@
 package com.cope.meteoraddons.addons;
 
+import com.cope.meteoraddons.MeteorAddonsAddon;
 import net.fabricmc.loader.api.ModContainer;
 import net.fabricmc.loader.api.metadata.ModMetadata;
 import net.fabricmc.loader.api.metadata.Person;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -102,4 +105,34 @@ public class InstalledAddon implements Addon {
     public ModContainer getModContainer() {
         return modContainer;
     }
+
+    /**
+     * Get the JAR file this addon was loaded from.
+     *
+     * @return the JAR path, or null when the addon is not loaded from a JAR (e.g. dev environment)
+     */
+    public Path getJarPath() {
+        try {
+            List<Path> rootPaths = modContainer.getRootPaths();
+            if (!rootPaths.isEmpty()) {
+                Path rootPath = rootPaths.get(0);
+                // getRootPaths returns paths inside the JAR: jar:file:/path/to/mod.jar!/
+                String pathStr = rootPath.toUri().toString();
+
+                if (pathStr.startsWith("jar:file:")) {
+                    int exclamation = pathStr.indexOf('!');
+                    if (exclamation > 0) {
+                        String jarUriStr = pathStr.substring(4, exclamation); // Get "file:/path/to/mod.jar"
+                        return Path.of(new URI(jarUriStr));
+                    }
+                } else if (pathStr.endsWith(".jar")) {
+                    return rootPath;
+                }
+            }
+        } catch (Exception e) {
+            MeteorAddonsAddon.LOG.debug("Failed to get JAR path for {}: {}", getName(), e.getMessage());
+        }
+
+        return null;
+    }
 }
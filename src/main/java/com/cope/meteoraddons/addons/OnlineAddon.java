@@ -1,5 +1,6 @@
 package com.cope.meteoraddons.addons;
 
+import com.cope.meteoraddons.icons.IconVariants;
 import com.cope.meteoraddons.models.AddonMetadata;
 import com.cope.meteoraddons.systems.AddonManager;
 import com.cope.meteoraddons.util.HttpClient;
@@ -55,17 +56,14 @@ public class OnlineAddon implements Addon {
 
     @Override
     public Optional<InputStream> getIconStream() throws IOException {
-        String iconUrl = metadata.getIconUrl();
+        String iconUrl = metadata.getIconUrl(IconVariants.largest());
         if (iconUrl == null || iconUrl.isEmpty()) {
             return Optional.empty();
         }
 
-        try {
-            byte[] iconData = HttpClient.downloadBytes(iconUrl);
-            return Optional.of(new ByteArrayInputStream(iconData));
-        } catch (IOException e) {
-            return Optional.empty();
-        }
+        // Failures propagate so IconPreloadSystem can remember why the fetch failed
+        byte[] iconData = HttpClient.downloadBytes(iconUrl);
+        return Optional.of(new ByteArrayInputStream(iconData));
     }
 
     @Override
@@ -0,0 +1,44 @@
+package com.cope.meteoraddons.config;
+
+/**
+ * Default tuning values for the icon loading pipeline.
+ * Runtime values live in IconPreloadSystem and are persisted with it.
+ */
+public final class IconPipelineConfig {
+    /**
+     * Render-thread time spent uploading icon textures per frame.
+     * Default: 2 milliseconds
+     */
+    public static final int UPLOAD_BUDGET_MS = 2;
+
+    /**
+     * GPU memory allowed for addon icon textures before least recently used
+     * ones are evicted.
+     * Default: 16 MiB
+     */
+    public static final long GPU_BUDGET_BYTES = 16L * 1024 * 1024;
+
+    /**
+     * Smallest GPU budget accepted from settings.
+     * Default: 1 MiB
+     */
+    public static final long MIN_GPU_BUDGET_BYTES = 1024L * 1024;
+
+    /**
+     * Encoded icon bytes held strongly for re-decoding; icons beyond this, and
+     * icons already decoded, are only softly referenced.
+     * Default: 4 MiB
+     */
+    public static final long RAW_ICON_BUDGET_BYTES = 4L * 1024 * 1024;
+
+    /**
+     * Worker threads decoding and resizing icons off the render thread.
+     * Default: half the available cores, between 1 and 4
+     */
+    public static final int DECODE_THREADS =
+        Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+
+    private IconPipelineConfig() {
+        // Prevent instantiation
+    }
+}
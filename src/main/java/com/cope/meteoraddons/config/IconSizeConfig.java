@@ -17,6 +17,13 @@ public final class IconSizeConfig {
      */
     public static final int INSTALLED_INDICATOR_SIZE = 32;
 
+    /**
+     * Pre-scaled sizes generated for every icon, ascending. Widgets draw the
+     * variant closest to their on-screen pixel size.
+     * Default: 16, 32, 64 and 128 pixels
+     */
+    public static final int[] ICON_VARIANT_SIZES = {16, 32, 64, 128};
+
     private IconSizeConfig() {
         // Prevent instantiation
     }
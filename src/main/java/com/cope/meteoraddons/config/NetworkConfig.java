@@ -0,0 +1,43 @@
+package com.cope.meteoraddons.config;
+
+/**
+ * Default concurrency limits for network and I/O requests.
+ * Each RequestPriority class has its own limit; all classes except
+ * USER_INITIATED also share MAX_CONCURRENT_REQUESTS.
+ */
+public final class NetworkConfig {
+    /**
+     * Requests running at once across the VISIBLE_UI, BACKGROUND and PREFETCH classes.
+     * Default: 6
+     */
+    public static final int MAX_CONCURRENT_REQUESTS = 6;
+
+    /**
+     * Installs, update downloads and checks started by a button press.
+     * Not counted against MAX_CONCURRENT_REQUESTS.
+     * Default: 2
+     */
+    public static final int USER_INITIATED_LIMIT = 2;
+
+    /**
+     * Requests for something on screen, such as the catalog or a visible icon.
+     * Default: 4
+     */
+    public static final int VISIBLE_UI_LIMIT = 4;
+
+    /**
+     * Work nobody is waiting on, such as the startup update check.
+     * Default: 2
+     */
+    public static final int BACKGROUND_LIMIT = 2;
+
+    /**
+     * Speculative loads, such as icons of addons not yet scrolled into view.
+     * Default: 3
+     */
+    public static final int PREFETCH_LIMIT = 3;
+
+    private NetworkConfig() {
+        // Prevent instantiation
+    }
+}
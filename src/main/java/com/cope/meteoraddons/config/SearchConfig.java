@@ -0,0 +1,30 @@
+package com.cope.meteoraddons.config;
+
+/**
+ * Default tuning values for addon search.
+ */
+public final class SearchConfig {
+    /**
+     * Quiet time after a keystroke before the query is searched; keystrokes
+     * arriving sooner replace the pending query instead of queuing another search.
+     * Default: 120 milliseconds
+     */
+    public static final long DEBOUNCE_MS = 120;
+
+    /**
+     * Result id arrays kept by the shared search result cache, counting each
+     * query and each query and facet selection combination once.
+     * Default: 256
+     */
+    public static final int RESULT_CACHE_ENTRIES = 256;
+
+    /**
+     * Completions shown under the Browse search box while typing.
+     * Default: 6
+     */
+    public static final int MAX_SUGGESTIONS = 6;
+
+    private SearchConfig() {
+        // Prevent instantiation
+    }
+}
@@ -5,10 +5,14 @@ import com.cope.meteoraddons.addons.Addon;
 import com.cope.meteoraddons.addons.InstalledAddon;
 import com.cope.meteoraddons.addons.OnlineAddon;
 import com.cope.meteoraddons.config.IconSizeConfig;
+import com.cope.meteoraddons.gui.widgets.WAddonIcon;
 import com.cope.meteoraddons.models.AddonMetadata;
 import com.cope.meteoraddons.models.UpdateInfo;
 import com.cope.meteoraddons.models.AddonMetadata.FeatureItem;
+import com.cope.meteoraddons.network.RequestPriority;
+import com.cope.meteoraddons.network.RequestScheduler;
 import com.cope.meteoraddons.systems.AddonManager;
+import com.cope.meteoraddons.systems.IconPreloadSystem;
 import com.cope.meteoraddons.util.GitHubReleaseAPI;
 import com.cope.meteoraddons.util.HashUtil;
 import com.cope.meteoraddons.util.IconCache;
@@ -20,7 +24,7 @@ import meteordevelopment.meteorclient.gui.widgets.containers.WSection;
 import meteordevelopment.meteorclient.gui.widgets.containers.WVerticalList;
 import meteordevelopment.meteorclient.gui.widgets.pressable.WButton;
 import meteordevelopment.meteorclient.renderer.Texture;
-import meteordevelopment.meteorclient.utils.network.MeteorExecutor;
+import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.util.Util;
 
@@ -54,9 +58,7 @@ public class AddonDetailScreen extends WindowScreen {
         WHorizontalList header = add(theme.horizontalList()).centerX().widget();
 
         // Icon
-        Texture iconTexture = IconCache.get(addon);
-        header.add(theme.texture(IconSizeConfig.ADDON_ICON_SIZE, IconSizeConfig.ADDON_ICON_SIZE, 0, iconTexture))
-                .widget();
+        header.add(new WAddonIcon(addon, IconSizeConfig.ADDON_ICON_SIZE)).widget();
 
         // Details (Name, Authors, Version, Verified)
         WVerticalList details = header.add(theme.verticalList()).expandX().widget();
@@ -65,9 +67,9 @@ public class AddonDetailScreen extends WindowScreen {
         titleRow.add(theme.label(addon.getName(), true)); // Title
 
         if (addon.isInstalled()) {
-            Texture installedIcon = IconCache.getInstalledIndicator();
+            double size = theme.textHeight(true);
+            Texture installedIcon = IconCache.getInstalledIndicator(size);
             if (installedIcon != null) {
-                double size = theme.textHeight(true);
                 titleRow.add(theme.texture(size, size, 0, installedIcon)).padLeft(4);
             }
             titleRow.add(theme.label("(Installed)", true).color(theme.textSecondaryColor())).padLeft(4);
@@ -133,7 +135,7 @@ public class AddonDetailScreen extends WindowScreen {
             WButton downloadButton = actions.add(theme.button("Download")).widget();
             downloadButton.action = () -> {
                 downloadButton.set("Downloading...");
-                MeteorExecutor.execute(() -> {
+                RequestScheduler.get().execute(RequestPriority.USER_INITIATED, () -> {
                     boolean success = AddonManager.get().downloadAddon((OnlineAddon) addon);
                     mc.execute(() -> {
                         if (success) {
@@ -151,7 +153,7 @@ public class AddonDetailScreen extends WindowScreen {
             WButton checkUpdateBtn = actions.add(theme.button("Check for Updates")).widget();
             checkUpdateBtn.action = () -> {
                 checkUpdateBtn.set("Checking...");
-                MeteorExecutor.execute(() -> {
+                RequestScheduler.get().execute(RequestPriority.USER_INITIATED, () -> {
                     Optional<UpdateInfo> update = checkForUpdate(installedAddon);
                     mc.execute(() -> {
                         if (update.isPresent()) {
@@ -189,6 +191,19 @@ public class AddonDetailScreen extends WindowScreen {
         backButton.action = () -> mc.gui.setScreen(parent);
     }
 
+    @Override
+    public void render(GuiGraphics context, int mouseX, int mouseY, float delta) {
+        // Once per frame, before the icon widgets draw
+        IconPreloadSystem.get().onIconFrame();
+        super.render(context, mouseX, mouseY, delta);
+    }
+
+    @Override
+    public void removed() {
+        super.removed();
+        IconPreloadSystem.get().onIconScreenClosed();
+    }
+
     /**
      * Check if metadata has any non-empty feature lists.
      */
@@ -272,7 +287,7 @@ public class AddonDetailScreen extends WindowScreen {
         MeteorAddonsAddon.LOG.info("Parsed: owner={}, repo={}", ownerRepo[0], ownerRepo[1]);
 
         // Get local JAR path
-        Path localJarPath = getJarPath(installed);
+        Path localJarPath = installed.getJarPath();
         if (localJarPath == null) {
             MeteorAddonsAddon.LOG.warn("Could not determine JAR path for {}", installed.getName());
             return Optional.empty();
@@ -335,33 +350,4 @@ public class AddonDetailScreen extends WindowScreen {
             return Optional.empty();
         }
     }
-
-    /**
-     * Get the JAR file path for an installed addon.
-     */
-    private Path getJarPath(InstalledAddon addon) {
-        try {
-            List<Path> rootPaths = addon.getModContainer().getRootPaths();
-            if (!rootPaths.isEmpty()) {
-                Path rootPath = rootPaths.get(0);
-                String pathStr = rootPath.toUri().toString();
-                MeteorAddonsAddon.LOG.debug("Root path URI: {}", pathStr);
-
-                if (pathStr.startsWith("jar:file:")) {
-                    // Extract JAR path from jar:file:/path/to/mod.jar!/
-                    int exclamation = pathStr.indexOf('!');
-                    if (exclamation > 0) {
-                        String jarUriStr = pathStr.substring(4, exclamation); // Get "file:/path/to/mod.jar"
-                        java.net.URI jarUri = new java.net.URI(jarUriStr);
-                        return Path.of(jarUri);
-                    }
-                } else if (pathStr.endsWith(".jar")) {
-                    return rootPath;
-                }
-            }
-        } catch (Exception e) {
-            MeteorAddonsAddon.LOG.warn("Failed to get JAR path for {}: {}", addon.getName(), e.getMessage());
-        }
-        return null;
-    }
 }
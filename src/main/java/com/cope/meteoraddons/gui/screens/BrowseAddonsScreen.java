@@ -2,30 +2,51 @@ package com.cope.meteoraddons.gui.screens;
 
 import com.cope.meteoraddons.addons.Addon;
 import com.cope.meteoraddons.addons.OnlineAddon;
+import com.cope.meteoraddons.config.SearchConfig;
 import com.cope.meteoraddons.gui.widgets.WAddonCard;
 import com.cope.meteoraddons.gui.widgets.WAddonList;
+import com.cope.meteoraddons.network.RequestPriority;
+import com.cope.meteoraddons.network.RequestScheduler;
+import com.cope.meteoraddons.search.FacetGroup;
+import com.cope.meteoraddons.search.FacetIndex;
+import com.cope.meteoraddons.search.FacetSelection;
+import com.cope.meteoraddons.search.Feature;
+import com.cope.meteoraddons.search.SearchField;
+import com.cope.meteoraddons.search.SearchIndex;
+import com.cope.meteoraddons.search.SearchMode;
+import com.cope.meteoraddons.search.SearchResult;
+import com.cope.meteoraddons.search.SearchWorker;
+import com.cope.meteoraddons.search.Suggestion;
 import com.cope.meteoraddons.systems.AddonManager;
-import com.cope.meteoraddons.util.AddonSearchUtil;
+import com.cope.meteoraddons.systems.IconPreloadSystem;
 import com.cope.meteoraddons.util.VersionUtil;
 import meteordevelopment.meteorclient.gui.GuiTheme;
 import meteordevelopment.meteorclient.gui.WindowScreen;
 import meteordevelopment.meteorclient.gui.widgets.containers.WContainer;
 import meteordevelopment.meteorclient.gui.widgets.containers.WHorizontalList;
+import meteordevelopment.meteorclient.gui.widgets.containers.WSection;
 import meteordevelopment.meteorclient.gui.widgets.containers.WTable;
 import meteordevelopment.meteorclient.gui.widgets.input.WTextBox;
 import meteordevelopment.meteorclient.gui.widgets.pressable.WButton;
+import net.minecraft.client.gui.GuiGraphics;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 import static meteordevelopment.meteorclient.MeteorClient.mc;
 
 public class BrowseAddonsScreen extends WindowScreen {
     private static final int CARDS_PER_ROW = 4;
+    private static final int MAX_FACET_VALUES = 10;
     private boolean isGridView = false;
     private WContainer contentContainer;
+    private WTable facetTable;
+    private WHorizontalList suggestionList;
     private WTextBox searchField;
     private String currentSearch = "";
+    private SearchMode searchMode = SearchMode.RANKED;
+    private FacetSelection facetSelection = FacetSelection.NONE.only(FacetGroup.SCOPE, FacetIndex.ONLINE);
+    private final SearchWorker searchWorker = new SearchWorker(mc::execute);
+    private SearchResult results;
 
     public BrowseAddonsScreen(GuiTheme theme) {
         super(theme, "Browse Addons");
@@ -70,7 +91,19 @@ public class BrowseAddonsScreen extends WindowScreen {
         searchField.setFocused(true);
         searchField.action = () -> {
             currentSearch = searchField.get();
-            updateContent(manager.getOnlineAddons());
+            updateSuggestions();
+            search(false);
+        };
+
+        WButton modeBtn = toolbar.add(theme.button(searchModeLabel())).widget();
+        modeBtn.action = () -> {
+            searchMode = switch (searchMode) {
+                case RANKED -> SearchMode.SUBSTRING;
+                case SUBSTRING -> SearchMode.FEATURES;
+                case FEATURES -> SearchMode.RANKED;
+            };
+            modeBtn.set(searchModeLabel());
+            search(true);
         };
 
         // View Toggles
@@ -88,32 +121,167 @@ public class BrowseAddonsScreen extends WindowScreen {
             reload();
         };
 
+        // Suggestions, filled while typing
+        suggestionList = add(theme.horizontalList()).expandX().widget();
+
+        // Filters
+        WSection filters = add(theme.section("Filters", !facetSelection.without(FacetGroup.SCOPE).isEmpty())).expandX().widget();
+        facetTable = filters.add(theme.table()).expandX().widget();
+
         add(theme.horizontalSeparator()).expandX();
 
         // Content Container
         contentContainer = add(theme.verticalList()).expandX().widget();
-        updateContent(addons);
+        // Show the last results right away after a reload or returning from a detail
+        // screen; searching again is answered from the worker's session cache
+        if (results != null) {
+            updateFacets();
+            updateContent();
+        }
+        search(true);
     }
 
-    private void updateContent(List<Addon> allAddons) {
-        contentContainer.clear();
+    @Override
+    public void render(GuiGraphics context, int mouseX, int mouseY, float delta) {
+        // Once per frame, before the icon widgets draw
+        IconPreloadSystem.get().onIconFrame();
+        super.render(context, mouseX, mouseY, delta);
+    }
+
+    @Override
+    public void removed() {
+        super.removed();
+        searchWorker.cancel();
+        IconPreloadSystem.get().onIconScreenClosed();
+    }
+
+    private void search(boolean now) {
+        SearchIndex index = AddonManager.get().getSearchIndex();
+        if (now) {
+            searchWorker.searchNow(index, currentSearch, searchMode, facetSelection, this::showResults);
+        } else {
+            searchWorker.search(index, currentSearch, searchMode, facetSelection, this::showResults);
+        }
+    }
+
+    private void updateSuggestions() {
+        suggestionList.clear();
+        List<Suggestion> suggestions = AddonManager.get().getSearchIndex()
+            .suggest(currentSearch, SearchConfig.MAX_SUGGESTIONS);
+
+        for (Suggestion suggestion : suggestions) {
+            // Nothing left to complete
+            if (suggestion.getText().equalsIgnoreCase(currentSearch.trim())) continue;
+
+            String label = suggestion.getKind() == SearchField.NAME
+                ? suggestion.getText()
+                : suggestion.getText() + " (" + fieldLabel(suggestion.getKind()) + ")";
+            WButton button = suggestionList.add(theme.button(label)).widget();
+            button.action = () -> {
+                currentSearch = suggestion.getText();
+                searchField.set(currentSearch);
+                suggestionList.clear();
+                search(true);
+            };
+        }
+    }
+
+    private void showResults(SearchResult found) {
+        // Rebuilding the cards is the expensive part; skip it when only the counts changed
+        boolean sameAddons = results != null && found.getAddons().equals(results.getAddons())
+            && found.getFeatures().equals(results.getFeatures());
+        results = found;
+        if (facetTable != null) updateFacets();
+        if (contentContainer != null && !sameAddons) updateContent();
+    }
 
-        List<Addon> filtered = allAddons.stream()
-                .filter(addon -> AddonSearchUtil.matches(addon, currentSearch))
-                .collect(Collectors.toList());
+    private void updateFacets() {
+        facetTable.clear();
+        FacetIndex facets = results.getFacets();
 
+        for (FacetGroup group : FacetGroup.values()) {
+            if (group == FacetGroup.SCOPE) continue;
+
+            WHorizontalList values = theme.horizontalList();
+            int shown = 0;
+            for (String value : facets.getValues(group)) {
+                int count = results.getCount(group, value);
+                boolean selected = facetSelection.isSelected(group, value);
+                if (count == 0 && !selected) continue;
+                if (shown++ >= MAX_FACET_VALUES && !selected) continue;
+
+                String label = facets.getLabel(group, value) + " (" + count + ")";
+                WButton button = values.add(theme.button(selected ? "[" + label + "]" : label)).widget();
+                button.action = () -> {
+                    // Thresholds are nested, so only one of them is selectable at a time
+                    boolean single = group == FacetGroup.STARS || group == FacetGroup.UPDATED;
+                    facetSelection = single
+                        ? facetSelection.toggleOnly(group, value)
+                        : facetSelection.toggle(group, value);
+                    search(true);
+                };
+            }
+            if (shown == 0) continue;
+
+            facetTable.add(theme.label(group.getTitle()).color(theme.textSecondaryColor()));
+            facetTable.add(values).expandCellX();
+            facetTable.row();
+        }
+    }
+
+    private void updateContent() {
+        contentContainer.clear();
+
+        List<Addon> filtered = results.getAddons();
         if (filtered.isEmpty()) {
             contentContainer.add(theme.label("No addons match your search.")).centerX();
             return;
         }
 
-        if (isGridView) {
+        if (!results.getFeatures().isEmpty()) {
+            initFeatureView(contentContainer, filtered);
+        } else if (isGridView) {
             initGridView(contentContainer, filtered);
         } else {
             initListView(contentContainer, filtered);
         }
     }
 
+    private String searchModeLabel() {
+        return switch (searchMode) {
+            case RANKED -> "Best Match";
+            case SUBSTRING -> "Exact";
+            case FEATURES -> "Features";
+        };
+    }
+
+    private void initFeatureView(WContainer parent, List<Addon> addons) {
+        WTable table = parent.add(theme.table()).expandX().widget();
+        for (Addon addon : addons) {
+            WButton open = table.add(theme.button(addon.getName())).widget();
+            open.action = () -> mc.gui.setScreen(new AddonDetailScreen(theme, addon, this));
+            table.row();
+
+            for (Feature feature : results.getFeatures(addon)) {
+                table.add(theme.label(fieldLabel(feature.getKind())).color(theme.textSecondaryColor()));
+                table.add(theme.label(feature.getName()));
+                table.add(theme.label(feature.getDescription().orElse("")).color(theme.textSecondaryColor())).expandCellX();
+                table.row();
+            }
+        }
+    }
+
+    private static String fieldLabel(SearchField kind) {
+        return switch (kind) {
+            case MODULE -> "Module";
+            case COMMAND -> "Command";
+            case HUD -> "HUD";
+            case AUTHOR -> "Author";
+            case TAG -> "Tag";
+            default -> "Addon";
+        };
+    }
+
     private void initGridView(WContainer parent, List<Addon> addons) {
         WTable table = parent.add(theme.table()).expandX().widget();
         int col = 0;
@@ -134,7 +302,7 @@ public class BrowseAddonsScreen extends WindowScreen {
                 addon -> button -> {
                     if (addon instanceof OnlineAddon) {
                         button.set("Downloading...");
-                        meteordevelopment.meteorclient.utils.network.MeteorExecutor.execute(() -> {
+                        RequestScheduler.get().execute(RequestPriority.USER_INITIATED, () -> {
                             boolean success = AddonManager.get().downloadAddon((OnlineAddon) addon);
                             mc.execute(() -> {
                                 if (success) {
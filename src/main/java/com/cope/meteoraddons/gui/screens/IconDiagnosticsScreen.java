@@ -0,0 +1,146 @@
+package com.cope.meteoraddons.gui.screens;
+
+import com.cope.meteoraddons.icons.IconFailureCache;
+import com.cope.meteoraddons.icons.IconMetrics;
+import com.cope.meteoraddons.systems.IconPreloadSystem;
+import meteordevelopment.meteorclient.gui.GuiTheme;
+import meteordevelopment.meteorclient.gui.WindowScreen;
+import meteordevelopment.meteorclient.gui.widgets.containers.WHorizontalList;
+import meteordevelopment.meteorclient.gui.widgets.containers.WSection;
+import meteordevelopment.meteorclient.gui.widgets.containers.WTable;
+import meteordevelopment.meteorclient.gui.widgets.pressable.WButton;
+
+import java.util.List;
+
+/**
+ * Screen showing icon texture memory usage, pipeline metrics and budget settings.
+ */
+public class IconDiagnosticsScreen extends WindowScreen {
+    private static final long BUDGET_STEP_BYTES = 4L * 1024 * 1024;
+    private static final long RAW_BUDGET_STEP_BYTES = 1024L * 1024;
+    private static final int MAX_HOSTS = 8;
+
+    public IconDiagnosticsScreen(GuiTheme theme) {
+        super(theme, "Icon Diagnostics");
+    }
+
+    @Override
+    public void initWidgets() {
+        IconPreloadSystem icons = IconPreloadSystem.get();
+
+        WTable table = add(theme.table()).expandX().widget();
+
+        addRow(table, "GPU memory", formatBytes(icons.getGpuUsedBytes()) + " / " + formatBytes(icons.getGpuBudgetBytes()));
+        addRow(table, "Textures", String.valueOf(icons.getTextureCount()));
+        addRow(table, "Unique icons", icons.getUniqueIconCount() + " for " + icons.getIconAddonCount() + " addons");
+        addRow(table, "Evictions", String.valueOf(icons.getTextureEvictionCount()));
+        addRow(table, "Pending uploads", String.valueOf(icons.getPendingUploadCount()));
+        addRow(table, "Upload budget", icons.getUploadBudgetMs() + " ms / frame");
+        addRow(table, "Raw icon data", formatBytes(icons.getRawIconStrongBytes()) + " / " + formatBytes(icons.getRawIconBudgetBytes())
+            + " (" + icons.getRawIconSoftCount() + " soft)");
+
+        IconMetrics metrics = icons.getMetrics();
+
+        WTable caches = addSection("Caches");
+        addRow(caches, "Texture lookups", formatHits(metrics.getTextureHits(), metrics.getTextureMisses()));
+        addRow(caches, "Raw data lookups", formatHits(metrics.getRawDataHits(), metrics.getRawDataMisses()));
+        addRow(caches, "Disk cache lookups", formatHits(metrics.getDiskHits(), metrics.getDiskMisses()));
+
+        WTable timing = addSection("Timing");
+        addRow(timing, "Downloads", metrics.getDownloadCount() + ", " + formatBytes(metrics.getBytesDownloaded())
+            + ", avg " + formatMillis(metrics.getAverageDownloadMillis()));
+        addRow(timing, "Decodes", metrics.getDecodeCount() + ", avg " + formatMillis(metrics.getAverageDecodeMillis()));
+        addRow(timing, "Ingest downscales", metrics.getDownscaleCount() + ", avg " + formatMillis(metrics.getAverageDownscaleMillis()));
+        addRow(timing, "Uploads", metrics.getUploadCount() + ", avg " + formatMillis(metrics.getAverageFrameUploadMillis())
+            + " / frame, max " + formatMillis(metrics.getMaxFrameUploadMillis()));
+
+        WTable failures = addSection("Failures");
+        for (IconFailureCache.Reason reason : IconFailureCache.Reason.values()) {
+            addRow(failures, reason.name(), String.valueOf(metrics.getFailureCount(reason)));
+        }
+        addRow(failures, "Blocked icons", String.valueOf(icons.getFailedIconCount()));
+
+        List<IconMetrics.HostSnapshot> hosts = metrics.getHosts();
+        if (!hosts.isEmpty()) {
+            WTable hostTable = addSection("Hosts (slowest first)");
+            for (IconMetrics.HostSnapshot host : hosts.subList(0, Math.min(MAX_HOSTS, hosts.size()))) {
+                addRow(hostTable, host.host(), host.requests() + " req, " + host.failures() + " failed, "
+                    + formatBytes(host.bytes()) + ", avg " + formatMillis(host.averageMillis()));
+            }
+        }
+
+        add(theme.horizontalSeparator()).expandX();
+
+        // GPU budget controls
+        WHorizontalList budget = add(theme.horizontalList()).expandX().widget();
+        budget.add(theme.label("GPU budget")).expandX();
+
+        WButton decrease = budget.add(theme.button("-")).widget();
+        decrease.action = () -> {
+            icons.setGpuBudgetBytes(icons.getGpuBudgetBytes() - BUDGET_STEP_BYTES);
+            reload();
+        };
+
+        WButton increase = budget.add(theme.button("+")).widget();
+        increase.action = () -> {
+            icons.setGpuBudgetBytes(icons.getGpuBudgetBytes() + BUDGET_STEP_BYTES);
+            reload();
+        };
+
+        // Raw icon data budget controls
+        WHorizontalList rawBudget = add(theme.horizontalList()).expandX().widget();
+        rawBudget.add(theme.label("Raw icon data budget")).expandX();
+
+        WButton rawDecrease = rawBudget.add(theme.button("-")).widget();
+        rawDecrease.action = () -> {
+            icons.setRawIconBudgetBytes(icons.getRawIconBudgetBytes() - RAW_BUDGET_STEP_BYTES);
+            reload();
+        };
+
+        WButton rawIncrease = rawBudget.add(theme.button("+")).widget();
+        rawIncrease.action = () -> {
+            icons.setRawIconBudgetBytes(icons.getRawIconBudgetBytes() + RAW_BUDGET_STEP_BYTES);
+            reload();
+        };
+
+        add(theme.horizontalSeparator()).expandX();
+
+        WHorizontalList actions = add(theme.horizontalList()).right().widget();
+
+        WButton resetMetrics = actions.add(theme.button("Reset Metrics")).widget();
+        resetMetrics.action = () -> {
+            metrics.reset();
+            reload();
+        };
+
+        WButton refresh = actions.add(theme.button("Refresh")).widget();
+        refresh.action = this::reload;
+    }
+
+    private WTable addSection(String title) {
+        WSection section = add(theme.section(title, true)).expandX().widget();
+        return section.add(theme.table()).expandX().widget();
+    }
+
+    private void addRow(WTable table, String name, String value) {
+        table.add(theme.label(name)).expandCellX();
+        table.add(theme.label(value).color(theme.textSecondaryColor()));
+        table.row();
+    }
+
+    private String formatHits(long hits, long misses) {
+        long total = hits + misses;
+        if (total == 0) return "-";
+        return String.format("%d hits, %d misses (%.0f%%)", hits, misses, hits * 100.0 / total);
+    }
+
+    private String formatMillis(double millis) {
+        return String.format("%.2f ms", millis);
+    }
+
+    private String formatBytes(long bytes) {
+        if (bytes < 1024) return bytes + " B";
+        if (bytes < 1024 * 1024) return String.format("%.1f KB", bytes / 1024.0);
+        return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+}
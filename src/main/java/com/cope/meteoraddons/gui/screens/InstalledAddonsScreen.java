@@ -1,20 +1,38 @@
 package com.cope.meteoraddons.gui.screens;
 
 import com.cope.meteoraddons.addons.Addon;
+import com.cope.meteoraddons.search.FacetGroup;
+import com.cope.meteoraddons.search.FacetIndex;
+import com.cope.meteoraddons.search.FacetSelection;
+import com.cope.meteoraddons.search.SearchMode;
+import com.cope.meteoraddons.search.SearchResult;
+import com.cope.meteoraddons.search.SearchWorker;
 import com.cope.meteoraddons.systems.AddonManager;
+import com.cope.meteoraddons.systems.IconPreloadSystem;
 import com.cope.meteoraddons.gui.widgets.WAddonList;
 import meteordevelopment.meteorclient.gui.GuiTheme;
 import meteordevelopment.meteorclient.gui.WindowScreen;
+import meteordevelopment.meteorclient.gui.widgets.containers.WContainer;
 import meteordevelopment.meteorclient.gui.widgets.containers.WHorizontalList;
+import meteordevelopment.meteorclient.gui.widgets.input.WTextBox;
+import meteordevelopment.meteorclient.gui.widgets.pressable.WButton;
+import net.minecraft.client.gui.GuiGraphics;
 
 import java.util.List;
 
 import static meteordevelopment.meteorclient.MeteorClient.mc;
 
 /**
- * Screen showing installed Meteor addons in list view.
+ * Screen showing installed Meteor addons in list view, searchable together
+ * with the online catalog.
  */
 public class InstalledAddonsScreen extends WindowScreen {
+    private WContainer contentContainer;
+    private String currentSearch = "";
+    private boolean includeOnline = false;
+    private final SearchWorker searchWorker = new SearchWorker(mc::execute);
+    private List<Addon> results;
+
     public InstalledAddonsScreen(GuiTheme theme) {
         super(theme, "Installed Addons");
     }
@@ -30,14 +48,80 @@ public class InstalledAddonsScreen extends WindowScreen {
 
         add(theme.horizontalSeparator()).expandX();
 
-        if (addons.isEmpty()) {
-            add(theme.label("No Meteor addons installed")).expandX().centerX();
+        // Toolbar: Search + Scope Toggle
+        WHorizontalList toolbar = add(theme.horizontalList()).expandX().widget();
+
+        WTextBox searchField = toolbar.add(theme.textBox(currentSearch)).minWidth(200).expandX().widget();
+        searchField.setFocused(true);
+        searchField.action = () -> {
+            currentSearch = searchField.get();
+            search(false);
+        };
+
+        WButton scopeBtn = toolbar.add(theme.button(scopeLabel())).widget();
+        scopeBtn.action = () -> {
+            includeOnline = !includeOnline;
+            scopeBtn.set(scopeLabel());
+            search(true);
+        };
+
+        add(theme.horizontalSeparator()).expandX();
+
+        // Content Container
+        contentContainer = add(theme.verticalList()).expandX().widget();
+        if (results != null) updateContent();
+        search(true);
+    }
+
+    @Override
+    public void render(GuiGraphics context, int mouseX, int mouseY, float delta) {
+        // Once per frame, before the icon widgets draw
+        IconPreloadSystem.get().onIconFrame();
+        super.render(context, mouseX, mouseY, delta);
+    }
+
+    @Override
+    public void removed() {
+        super.removed();
+        searchWorker.cancel();
+        IconPreloadSystem.get().onIconScreenClosed();
+    }
+
+    private String scopeLabel() {
+        return includeOnline ? "Installed + Online" : "Installed";
+    }
+
+    private void search(boolean now) {
+        FacetSelection scope = FacetSelection.NONE.only(FacetGroup.SCOPE,
+            includeOnline ? FacetIndex.ALL : FacetIndex.INSTALLED);
+        if (now) {
+            searchWorker.searchNow(AddonManager.get().getSearchIndex(), currentSearch, SearchMode.RANKED, scope, this::showResults);
         } else {
-            // List of installed addons (no install button needed)
-            add(new WAddonList(
-                    addons,
-                    addon -> () -> mc.gui.setScreen(new AddonDetailScreen(theme, addon, this)),
-                    null)).expandX();
+            searchWorker.search(AddonManager.get().getSearchIndex(), currentSearch, SearchMode.RANKED, scope, this::showResults);
         }
     }
+
+    private void showResults(SearchResult found) {
+        if (found.getAddons().equals(results)) return;
+        results = found.getAddons();
+        if (contentContainer != null) updateContent();
+    }
+
+    private void updateContent() {
+        contentContainer.clear();
+
+        if (results.isEmpty()) {
+            String message = currentSearch.isEmpty() && !includeOnline
+                ? "No Meteor addons installed"
+                : "No addons match your search.";
+            contentContainer.add(theme.label(message)).expandX().centerX();
+            return;
+        }
+
+        // Online results are installed from their detail screen
+        contentContainer.add(new WAddonList(
+                results,
+                addon -> () -> mc.gui.setScreen(new AddonDetailScreen(theme, addon, this)),
+                null)).expandX();
+    }
 }
@@ -1,6 +1,7 @@
 package com.cope.meteoraddons.gui.tabs;
 
 import com.cope.meteoraddons.gui.screens.BrowseAddonsScreen;
+import com.cope.meteoraddons.gui.screens.IconDiagnosticsScreen;
 import com.cope.meteoraddons.gui.screens.InstalledAddonsScreen;
 import meteordevelopment.meteorclient.gui.GuiTheme;
 import meteordevelopment.meteorclient.gui.tabs.Tab;
@@ -55,6 +56,9 @@ public class AddonsTab extends Tab {
 
             // Info text
             add(theme.label("Manage your Meteor Client addons")).expandX().centerX();
+
+            WButton diagnosticsButton = add(theme.button("Icon Diagnostics")).centerX().widget();
+            diagnosticsButton.action = () -> mc.gui.setScreen(new IconDiagnosticsScreen(theme));
         }
 
         @Override
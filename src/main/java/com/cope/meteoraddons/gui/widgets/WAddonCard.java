@@ -30,16 +30,15 @@ public class WAddonCard extends WVerticalList {
 
     @Override
     public void init() {
-        Texture iconTexture = IconCache.get(addon);
-        add(theme.texture(IconSizeConfig.ADDON_ICON_SIZE, IconSizeConfig.ADDON_ICON_SIZE, 0, iconTexture)).centerX();
+        add(new WAddonIcon(addon, IconSizeConfig.ADDON_ICON_SIZE)).centerX();
 
         WHorizontalList titleRow = add(theme.horizontalList()).centerX().widget();
         titleRow.add(theme.label(addon.getName()));
 
         if (addon.isInstalled()) {
-            Texture installedIcon = IconCache.getInstalledIndicator();
+            double size = theme.textHeight();
+            Texture installedIcon = IconCache.getInstalledIndicator(size);
             if (installedIcon != null) {
-                double size = theme.textHeight();
                 titleRow.add(theme.texture(size, size, 0, installedIcon)).padLeft(4);
             }
         }
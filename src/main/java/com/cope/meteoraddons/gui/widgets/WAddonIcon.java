@@ -0,0 +1,48 @@
+package com.cope.meteoraddons.gui.widgets;
+
+import com.cope.meteoraddons.addons.Addon;
+import com.cope.meteoraddons.icons.IconVariants;
+import com.cope.meteoraddons.systems.IconPreloadSystem;
+import com.cope.meteoraddons.util.IconCache;
+import meteordevelopment.meteorclient.gui.renderer.GuiRenderer;
+import meteordevelopment.meteorclient.gui.widgets.WWidget;
+import meteordevelopment.meteorclient.renderer.Texture;
+
+/**
+ * Addon icon widget.
+ * Looks up the texture every frame so icons uploaded after init() show up
+ * without rebuilding the screen, and reports itself as visible to the upload queue.
+ * Until the icon is uploaded the addon's placeholder thumbnail is drawn.
+ * Draws the variant closest to its on-screen size, so small icons never sample
+ * a large texture. No texture is held between frames, so evicting one is always safe.
+ */
+public class WAddonIcon extends WWidget {
+    private final Addon addon;
+    private final String addonId;
+    private final double size;
+
+    public WAddonIcon(Addon addon, double size) {
+        this.addon = addon;
+        this.addonId = addon.getId();
+        this.size = size;
+    }
+
+    @Override
+    public void init() {
+        // Starts loading the icon if nothing has requested it yet
+        IconCache.get(addon);
+    }
+
+    @Override
+    protected void onCalculateSize() {
+        width = theme.scale(size);
+        height = theme.scale(size);
+    }
+
+    @Override
+    protected void onRender(GuiRenderer renderer, double mouseX, double mouseY, double delta) {
+        IconPreloadSystem icons = IconPreloadSystem.get();
+        Texture texture = icons.onIconRendered(addonId, IconVariants.pick(width));
+        renderer.texture(x, y, width, height, 0, texture != null ? texture : icons.getPlaceholderTexture(addonId));
+    }
+}
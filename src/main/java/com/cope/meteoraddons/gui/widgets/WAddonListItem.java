@@ -29,8 +29,7 @@ public class WAddonListItem extends WHorizontalList {
     @Override
     public void init() {
         // Icon
-        Texture icon = IconCache.get(addon);
-        add(theme.texture(IconSizeConfig.ADDON_ICON_SIZE, IconSizeConfig.ADDON_ICON_SIZE, 0, icon)).widget();
+        add(new WAddonIcon(addon, IconSizeConfig.ADDON_ICON_SIZE)).widget();
 
         // Details Column
         WVerticalList details = add(theme.verticalList()).expandX().widget();
@@ -69,9 +68,9 @@ public class WAddonListItem extends WHorizontalList {
         if (addon.isInstalled()) {
             WHorizontalList installedContainer = actions.add(theme.horizontalList()).right().widget();
             installedContainer.add(theme.label("Installed"));
-            Texture installedIcon = IconCache.getInstalledIndicator();
+            double size = theme.textHeight();
+            Texture installedIcon = IconCache.getInstalledIndicator(size);
             if (installedIcon != null) {
-                double size = theme.textHeight();
                 installedContainer.add(theme.texture(size, size, 0, installedIcon)).padLeft(4);
             }
         } else if (onInstall != null) {
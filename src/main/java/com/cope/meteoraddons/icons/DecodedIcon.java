@@ -0,0 +1,14 @@
+package com.cope.meteoraddons.icons;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Icon pixels decoded and resized off the render thread, ready for Texture.upload.
+ * The buffer belongs to the decoder's pool and must be handed back with
+ * IconDecoder.release once uploaded or discarded.
+ *
+ * @param size Width and height in pixels
+ * @param rgba Direct buffer, 4 bytes per pixel in R, G, B, A order
+ */
+public record DecodedIcon(int size, ByteBuffer rgba) {
+}
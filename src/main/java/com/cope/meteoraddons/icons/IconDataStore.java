@@ -0,0 +1,116 @@
+package com.cope.meteoraddons.icons;
+
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Encoded icon bytes kept for re-decoding evicted or newly requested variants.
+ * Recently added icons are held strongly up to a byte budget; older ones, and
+ * icons whose pixels have been decoded, are only softly reachable so the GC
+ * can reclaim them. A reclaimed icon is simply fetched or read again.
+ * Thread-safe.
+ */
+public class IconDataStore {
+    private final LinkedHashMap<String, byte[]> strong = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, SoftReference<byte[]>> soft = new HashMap<>();
+    private long budgetBytes;
+    private long strongBytes;
+
+    public IconDataStore(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    /**
+     * Store an icon strongly, demoting least recently used icons past the budget.
+     */
+    public synchronized void put(String iconId, byte[] data) {
+        soft.remove(iconId);
+        byte[] previous = strong.put(iconId, data);
+        if (previous != null) strongBytes -= previous.length;
+        strongBytes += data.length;
+        trimToBudget();
+    }
+
+    /**
+     * @return the icon bytes, or null if never stored or already reclaimed
+     */
+    public synchronized byte[] get(String iconId) {
+        byte[] data = strong.get(iconId);
+        if (data != null) return data;
+
+        SoftReference<byte[]> ref = soft.get(iconId);
+        if (ref == null) return null;
+
+        data = ref.get();
+        if (data == null) soft.remove(iconId);
+        return data;
+    }
+
+    public boolean contains(String iconId) {
+        return get(iconId) != null;
+    }
+
+    /**
+     * Drop the strong reference to an icon, e.g. once its textures exist.
+     */
+    public synchronized void demote(String iconId) {
+        byte[] data = strong.remove(iconId);
+        if (data != null) {
+            strongBytes -= data.length;
+            soft.put(iconId, new SoftReference<>(data));
+        }
+    }
+
+    public synchronized void remove(String iconId) {
+        byte[] data = strong.remove(iconId);
+        if (data != null) strongBytes -= data.length;
+        soft.remove(iconId);
+    }
+
+    public synchronized void clear() {
+        strong.clear();
+        soft.clear();
+        strongBytes = 0;
+    }
+
+    public synchronized void setBudgetBytes(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+        trimToBudget();
+    }
+
+    public synchronized long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    /**
+     * Bytes held strongly; softly held icons are not counted.
+     */
+    public synchronized long getStrongBytes() {
+        return strongBytes;
+    }
+
+    public synchronized int getStrongCount() {
+        return strong.size();
+    }
+
+    /**
+     * Icons stored only softly that have not been reclaimed yet.
+     */
+    public synchronized int getSoftCount() {
+        soft.values().removeIf(ref -> ref.get() == null);
+        return soft.size();
+    }
+
+    private void trimToBudget() {
+        Iterator<Map.Entry<String, byte[]>> it = strong.entrySet().iterator();
+        while (strongBytes > budgetBytes && it.hasNext()) {
+            Map.Entry<String, byte[]> eldest = it.next();
+            it.remove();
+            strongBytes -= eldest.getValue().length;
+            soft.put(eldest.getKey(), new SoftReference<>(eldest.getValue()));
+        }
+    }
+}
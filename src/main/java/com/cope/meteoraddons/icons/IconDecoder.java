@@ -0,0 +1,166 @@
+package com.cope.meteoraddons.icons;
+
+import com.cope.meteoraddons.config.IconPipelineConfig;
+import com.mojang.blaze3d.platform.NativeImage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Worker pool for the CPU-heavy part of icon loading: PNG decode, resize and
+ * ABGR→RGBA conversion. The render thread only receives finished DecodedIcons.
+ * One decode produces every requested size variant from a single PNG read.
+ */
+public class IconDecoder {
+    private static final int POOLED_BUFFERS_PER_SIZE = 16;
+
+    private final ExecutorService executor;
+    private final PixelBufferPool bufferPool = new PixelBufferPool(POOLED_BUFFERS_PER_SIZE);
+    private final IconMetrics metrics;
+
+    public IconDecoder(IconMetrics metrics) {
+        this.metrics = metrics;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(IconPipelineConfig.DECODE_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "IconDecoder-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        });
+    }
+
+    /**
+     * Decode image bytes and resize them to each of the given sizes on a worker thread.
+     */
+    public CompletableFuture<List<DecodedIcon>> decode(byte[] imageData, int... sizes) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return decodeNow(imageData, sizes);
+            } catch (IOException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Decode a classpath image on a worker thread.
+     */
+    public CompletableFuture<List<DecodedIcon>> decodeResource(String path, int... sizes) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (InputStream stream = IconDecoder.class.getResourceAsStream(path)) {
+                if (stream == null) throw new IllegalStateException("Resource not found: " + path);
+                return decodeNow(stream.readAllBytes(), sizes);
+            } catch (IOException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Shrink an oversized PNG so its larger side is at most maxSize and
+     * re-encode it (any background thread). Smaller images are returned as-is
+     * without being decoded.
+     */
+    public byte[] downscalePng(byte[] imageData, int maxSize) throws IOException {
+        if (!isPngLargerThan(imageData, maxSize)) return imageData;
+
+        long start = System.nanoTime();
+        NativeImage source = NativeImage.read(new ByteArrayInputStream(imageData));
+        try {
+            double scale = (double) maxSize / Math.max(source.getWidth(), source.getHeight());
+            int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+            int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+            try (NativeImage resized = new NativeImage(width, height, false)) {
+                source.resizeSubRectTo(0, 0, source.getWidth(), source.getHeight(), resized);
+                return resized.asByteArray();
+            }
+        } finally {
+            source.close();
+            metrics.recordDownscale(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Read the dimensions from the PNG IHDR chunk. Data that is not a PNG
+     * counts as larger so it goes through a full decode.
+     */
+    static boolean isPngLargerThan(byte[] data, int maxSize) {
+        if (data.length < 24 || (data[0] & 0xFF) != 0x89 || data[1] != 'P' || data[2] != 'N' || data[3] != 'G') {
+            return true;
+        }
+
+        ByteBuffer header = ByteBuffer.wrap(data, 16, 8);
+        int width = header.getInt();
+        int height = header.getInt();
+        return width > maxSize || height > maxSize;
+    }
+
+    /**
+     * Run other icon work, such as disk cache reads, on the worker pool.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    /**
+     * Hand a decoded icon's buffer back to the pool (any thread).
+     */
+    public void release(DecodedIcon icon) {
+        if (icon != null) {
+            bufferPool.release(icon.rgba());
+        }
+    }
+
+    public PixelBufferPool getBufferPool() {
+        return bufferPool;
+    }
+
+    private List<DecodedIcon> decodeNow(byte[] imageData, int[] sizes) throws IOException {
+        long start = System.nanoTime();
+        NativeImage source = NativeImage.read(new ByteArrayInputStream(imageData));
+        try {
+            List<DecodedIcon> icons = new ArrayList<>(sizes.length);
+            for (int size : sizes) {
+                icons.add(new DecodedIcon(size, toRgbaBuffer(source, size)));
+            }
+            metrics.recordDecode(System.nanoTime() - start);
+            return icons;
+        } finally {
+            source.close();
+        }
+    }
+
+    /**
+     * Resize to targetSize and copy the RGBA pixels into a pooled buffer.
+     */
+    private ByteBuffer toRgbaBuffer(NativeImage sourceImage, int targetSize) {
+        NativeImage image;
+
+        if (sourceImage.getWidth() != targetSize || sourceImage.getHeight() != targetSize) {
+            NativeImage resized = new NativeImage(targetSize, targetSize, false);
+            sourceImage.resizeSubRectTo(0, 0, sourceImage.getWidth(), sourceImage.getHeight(), resized);
+            image = resized;
+        } else {
+            image = sourceImage;
+        }
+
+        ByteBuffer buffer = bufferPool.acquire(targetSize * targetSize * 4);
+        PixelConverter.copyPixels(image, buffer);
+
+        if (image != sourceImage) {
+            image.close();
+        }
+
+        return buffer;
+    }
+}
@@ -0,0 +1,161 @@
+package com.cope.meteoraddons.icons;
+
+import com.cope.meteoraddons.util.HttpStatusException;
+
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers icons whose fetch or decode failed so they are not retried on
+ * every render or reload. Each failure blocks the icon for a TTL that depends
+ * on the kind of failure and doubles with every consecutive failure, up to
+ * MAX_BACKOFF_MILLIS. Times are wall-clock millis so entries survive restarts.
+ * A failure only blocks the icon URL it was recorded for, so a catalog that
+ * fixes a broken URL is fetched again right away.
+ * Thread-safe.
+ */
+public class IconFailureCache {
+    /**
+     * Upper bound for the backoff of any failure.
+     */
+    public static final long MAX_BACKOFF_MILLIS = 7L * 24 * 60 * 60 * 1000;
+
+    private final Map<String, Failure> failures = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+
+    public IconFailureCache() {
+        this(System::currentTimeMillis);
+    }
+
+    public IconFailureCache(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Whether an icon not loaded from a URL failed recently.
+     */
+    public boolean isBlocked(String iconId) {
+        return isBlocked(iconId, null);
+    }
+
+    /**
+     * Whether the icon failed recently at this URL and must not be fetched or
+     * decoded yet. A failure recorded for another URL does not block.
+     *
+     * @param url The icon URL, or null for icons not loaded from a URL
+     */
+    public boolean isBlocked(String iconId, String url) {
+        Failure failure = failures.get(iconId);
+        return failure != null && Objects.equals(failure.url(), url) && clock.getAsLong() < failure.retryAtMillis();
+    }
+
+    public Failure recordFailure(String iconId, Reason reason) {
+        return recordFailure(iconId, null, reason);
+    }
+
+    /**
+     * Record a failure, blocking the icon for the reason's TTL doubled once per
+     * earlier consecutive failure at the same URL.
+     *
+     * @param url The icon URL, or null for icons not loaded from a URL
+     * @return the recorded failure
+     */
+    public Failure recordFailure(String iconId, String url, Reason reason) {
+        return failures.compute(iconId, (id, previous) -> {
+            int count = previous != null && Objects.equals(previous.url(), url) ? previous.count() + 1 : 1;
+            return new Failure(reason, count, clock.getAsLong() + backoffMillis(reason, count), url);
+        });
+    }
+
+    /**
+     * Forget an icon's failures, e.g. after it loaded or its bytes changed.
+     */
+    public void clear(String iconId) {
+        failures.remove(iconId);
+    }
+
+    public void clear() {
+        failures.clear();
+    }
+
+    public Failure get(String iconId) {
+        return failures.get(iconId);
+    }
+
+    public int size() {
+        return failures.size();
+    }
+
+    /**
+     * Failures worth persisting. Entries whose block ended more than
+     * MAX_BACKOFF_MILLIS ago are dropped, so the backoff eventually resets.
+     */
+    public Map<String, Failure> snapshot() {
+        long now = clock.getAsLong();
+        failures.values().removeIf(f -> now - f.retryAtMillis() > MAX_BACKOFF_MILLIS);
+        return Map.copyOf(failures);
+    }
+
+    /**
+     * Restore a persisted failure.
+     */
+    public void restore(String iconId, Failure failure) {
+        failures.put(iconId, failure);
+    }
+
+    static long backoffMillis(Reason reason, int count) {
+        int doublings = Math.min(count - 1, 30);
+        return Math.min(MAX_BACKOFF_MILLIS, reason.ttlMillis << doublings);
+    }
+
+    /**
+     * Map an exception from fetching an icon to a failure reason.
+     * Decode failures are recorded as Reason.DECODE by the caller.
+     */
+    public static Reason classifyFetchError(Throwable error) {
+        if (error instanceof HttpStatusException http) {
+            int status = http.getStatusCode();
+            return status == 404 || status == 410 ? Reason.NOT_FOUND : Reason.HTTP_ERROR;
+        }
+        // Covers SocketTimeoutException and OkHttp's call timeout
+        if (error instanceof InterruptedIOException) return Reason.TIMEOUT;
+        return Reason.NETWORK;
+    }
+
+    /**
+     * Why an icon failed, with the base TTL before backoff.
+     */
+    public enum Reason {
+        /**
+         * 404/410, or the addon has no icon at all.
+         */
+        NOT_FOUND(6L * 60 * 60 * 1000),
+        /**
+         * Any other non-2xx response; usually rate limiting or a server error.
+         */
+        HTTP_ERROR(10L * 60 * 1000),
+        TIMEOUT(60L * 1000),
+        NETWORK(60L * 1000),
+        /**
+         * The bytes arrived but are not an image we can read.
+         */
+        DECODE(24L * 60 * 60 * 1000);
+
+        public final long ttlMillis;
+
+        Reason(long ttlMillis) {
+            this.ttlMillis = ttlMillis;
+        }
+    }
+
+    /**
+     * @param count         Consecutive failures so far
+     * @param retryAtMillis Wall-clock time before which the icon is skipped
+     * @param url           Icon URL the failure was recorded for, or null
+     */
+    public record Failure(Reason reason, int count, long retryAtMillis, String url) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.cope.meteoraddons.icons;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maps addon ids onto the content hash of their icon, many-to-one, and counts
+ * how many addons reference each hash. Icon bytes, decodes and textures are
+ * keyed by hash, so addons sharing an image share one copy of each.
+ * Thread-safe.
+ */
+public class IconHashIndex {
+    private final Map<String, String> hashById = new HashMap<>();
+    private final Map<String, Set<String>> idsByHash = new HashMap<>();
+
+    /**
+     * Point an addon at a content hash.
+     *
+     * @return the addon's previous hash if no addon references it anymore, otherwise null
+     */
+    public synchronized String assign(String addonId, String hash) {
+        String previous = hashById.put(addonId, hash);
+        if (hash.equals(previous)) return null;
+
+        idsByHash.computeIfAbsent(hash, h -> new HashSet<>()).add(addonId);
+        return previous != null ? unlink(addonId, previous) : null;
+    }
+
+    /**
+     * Forget an addon's icon.
+     *
+     * @return the addon's hash if no addon references it anymore, otherwise null
+     */
+    public synchronized String remove(String addonId) {
+        String previous = hashById.remove(addonId);
+        return previous != null ? unlink(addonId, previous) : null;
+    }
+
+    public synchronized String hashOf(String addonId) {
+        return hashById.get(addonId);
+    }
+
+    public synchronized int refCount(String hash) {
+        Set<String> ids = idsByHash.get(hash);
+        return ids != null ? ids.size() : 0;
+    }
+
+    public synchronized Set<String> idsOf(String hash) {
+        Set<String> ids = idsByHash.get(hash);
+        return ids != null ? Set.copyOf(ids) : Set.of();
+    }
+
+    public synchronized Set<String> addonIds() {
+        return Set.copyOf(hashById.keySet());
+    }
+
+    public synchronized int addonCount() {
+        return hashById.size();
+    }
+
+    public synchronized int uniqueCount() {
+        return idsByHash.size();
+    }
+
+    public synchronized void clear() {
+        hashById.clear();
+        idsByHash.clear();
+    }
+
+    private String unlink(String addonId, String hash) {
+        Set<String> ids = idsByHash.get(hash);
+        if (ids == null) return null;
+
+        ids.remove(addonId);
+        if (!ids.isEmpty()) return null;
+
+        idsByHash.remove(hash);
+        return hash;
+    }
+}
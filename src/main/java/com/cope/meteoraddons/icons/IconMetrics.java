@@ -0,0 +1,231 @@
+package com.cope.meteoraddons.icons;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for the icon pipeline: downloads per host, cache hits and misses,
+ * decode and upload time, and failures by cause. Recording is lock-free so it
+ * can be called from the render thread and worker threads alike; the values
+ * are only summed when read, e.g. by the diagnostics screen.
+ * Thread-safe.
+ */
+public class IconMetrics {
+    private final LongAdder bytesDownloaded = new LongAdder();
+    private final LongAdder downloads = new LongAdder();
+    private final LongAdder downloadNanos = new LongAdder();
+    private final Map<String, HostStats> hosts = new ConcurrentHashMap<>();
+
+    private final LongAdder textureHits = new LongAdder();
+    private final LongAdder textureMisses = new LongAdder();
+    private final LongAdder rawDataHits = new LongAdder();
+    private final LongAdder rawDataMisses = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder diskMisses = new LongAdder();
+
+    private final LongAdder decodes = new LongAdder();
+    private final LongAdder decodeNanos = new LongAdder();
+    private final LongAdder downscales = new LongAdder();
+    private final LongAdder downscaleNanos = new LongAdder();
+
+    private final LongAdder uploads = new LongAdder();
+    private final LongAdder uploadFrames = new LongAdder();
+    private final LongAdder uploadNanos = new LongAdder();
+    private final LongAccumulator maxFrameUploadNanos = new LongAccumulator(Math::max, 0);
+
+    private final Map<IconFailureCache.Reason, LongAdder> failures = new EnumMap<>(IconFailureCache.Reason.class);
+
+    public IconMetrics() {
+        for (IconFailureCache.Reason reason : IconFailureCache.Reason.values()) {
+            failures.put(reason, new LongAdder());
+        }
+    }
+
+    /**
+     * Downloads to one host, to spot slow or failing icon hosts.
+     */
+    public record HostSnapshot(String host, long requests, long failures, long bytes, long totalNanos) {
+        public double averageMillis() {
+            long completed = requests - failures;
+            return completed > 0 ? totalNanos / 1_000_000.0 / completed : 0;
+        }
+    }
+
+    private static class HostStats {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+    }
+
+    public void recordDownload(String host, long bytes, long nanos) {
+        bytesDownloaded.add(bytes);
+        downloads.increment();
+        downloadNanos.add(nanos);
+
+        HostStats stats = host(host);
+        stats.requests.increment();
+        stats.bytes.add(bytes);
+        stats.nanos.add(nanos);
+    }
+
+    public void recordDownloadFailure(String host) {
+        HostStats stats = host(host);
+        stats.requests.increment();
+        stats.failures.increment();
+    }
+
+    public void recordFailure(IconFailureCache.Reason reason) {
+        failures.get(reason).increment();
+    }
+
+    public void recordTextureLookup(boolean hit) {
+        (hit ? textureHits : textureMisses).increment();
+    }
+
+    public void recordRawDataLookup(boolean hit) {
+        (hit ? rawDataHits : rawDataMisses).increment();
+    }
+
+    public void recordDiskLookup(boolean hit) {
+        (hit ? diskHits : diskMisses).increment();
+    }
+
+    /**
+     * One PNG read and resized into one or more variants.
+     */
+    public void recordDecode(long nanos) {
+        decodes.increment();
+        decodeNanos.add(nanos);
+    }
+
+    /**
+     * One oversized image shrunk and re-encoded at ingest.
+     */
+    public void recordDownscale(long nanos) {
+        downscales.increment();
+        downscaleNanos.add(nanos);
+    }
+
+    /**
+     * One frame's upload pump; frames that uploaded nothing are not recorded.
+     */
+    public void recordUploadFrame(int uploaded, long nanos) {
+        if (uploaded <= 0) return;
+        uploads.add(uploaded);
+        uploadFrames.increment();
+        uploadNanos.add(nanos);
+        maxFrameUploadNanos.accumulate(nanos);
+    }
+
+    public long getBytesDownloaded() {
+        return bytesDownloaded.sum();
+    }
+
+    public long getDownloadCount() {
+        return downloads.sum();
+    }
+
+    public double getAverageDownloadMillis() {
+        return average(downloadNanos, downloads);
+    }
+
+    /**
+     * Hosts sorted by average download time, slowest first.
+     */
+    public List<HostSnapshot> getHosts() {
+        List<HostSnapshot> snapshots = new ArrayList<>();
+        hosts.forEach((name, stats) -> snapshots.add(new HostSnapshot(name, stats.requests.sum(),
+                stats.failures.sum(), stats.bytes.sum(), stats.nanos.sum())));
+        snapshots.sort(Comparator.comparingDouble(HostSnapshot::averageMillis).reversed());
+        return snapshots;
+    }
+
+    public long getTextureHits() {
+        return textureHits.sum();
+    }
+
+    public long getTextureMisses() {
+        return textureMisses.sum();
+    }
+
+    public long getRawDataHits() {
+        return rawDataHits.sum();
+    }
+
+    public long getRawDataMisses() {
+        return rawDataMisses.sum();
+    }
+
+    public long getDiskHits() {
+        return diskHits.sum();
+    }
+
+    public long getDiskMisses() {
+        return diskMisses.sum();
+    }
+
+    public long getDecodeCount() {
+        return decodes.sum();
+    }
+
+    public double getAverageDecodeMillis() {
+        return average(decodeNanos, decodes);
+    }
+
+    public long getDownscaleCount() {
+        return downscales.sum();
+    }
+
+    public double getAverageDownscaleMillis() {
+        return average(downscaleNanos, downscales);
+    }
+
+    public long getUploadCount() {
+        return uploads.sum();
+    }
+
+    /**
+     * Average upload time of frames that uploaded at least one icon.
+     */
+    public double getAverageFrameUploadMillis() {
+        return average(uploadNanos, uploadFrames);
+    }
+
+    public double getMaxFrameUploadMillis() {
+        return maxFrameUploadNanos.get() / 1_000_000.0;
+    }
+
+    public long getFailureCount(IconFailureCache.Reason reason) {
+        return failures.get(reason).sum();
+    }
+
+    /**
+     * Zero every counter, e.g. before measuring a change to a budget.
+     */
+    public void reset() {
+        for (LongAdder adder : List.of(bytesDownloaded, downloads, downloadNanos, textureHits, textureMisses,
+                rawDataHits, rawDataMisses, diskHits, diskMisses, decodes, decodeNanos, downscales,
+                downscaleNanos, uploads, uploadFrames, uploadNanos)) {
+            adder.reset();
+        }
+        maxFrameUploadNanos.reset();
+        failures.values().forEach(LongAdder::reset);
+        hosts.clear();
+    }
+
+    private HostStats host(String host) {
+        return hosts.computeIfAbsent(host != null ? host : "unknown", h -> new HostStats());
+    }
+
+    private static double average(LongAdder nanos, LongAdder count) {
+        long n = count.sum();
+        return n > 0 ? nanos.sum() / 1_000_000.0 / n : 0;
+    }
+}
@@ -0,0 +1,61 @@
+package com.cope.meteoraddons.icons;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Builds the tiny thumbnail shown in place of an icon until its texture is
+ * uploaded. The thumbnail is a 4x4 box-filtered copy of the icon; drawn with
+ * linear filtering it reads as a soft blur of the icon's colors.
+ */
+public final class IconPlaceholder {
+    public static final int SIZE = 4;
+    public static final int BYTES = SIZE * SIZE * 4;
+
+    private IconPlaceholder() {
+    }
+
+    /**
+     * Average each of the 4x4 blocks of a square RGBA image.
+     * Colors are weighted by alpha so transparent pixels do not darken edges.
+     *
+     * @param rgba Pixels of a size x size image, read from index 0 (position is ignored)
+     * @param size Image width and height, at least SIZE
+     * @return SIZE * SIZE RGBA pixels
+     */
+    public static byte[] thumbnail(ByteBuffer rgba, int size) {
+        byte[] out = new byte[BYTES];
+
+        for (int by = 0; by < SIZE; by++) {
+            int y0 = by * size / SIZE;
+            int y1 = (by + 1) * size / SIZE;
+            for (int bx = 0; bx < SIZE; bx++) {
+                int x0 = bx * size / SIZE;
+                int x1 = (bx + 1) * size / SIZE;
+
+                long r = 0, g = 0, b = 0, a = 0;
+                for (int y = y0; y < y1; y++) {
+                    int row = y * size * 4;
+                    for (int x = x0; x < x1; x++) {
+                        int i = row + x * 4;
+                        int alpha = rgba.get(i + 3) & 0xFF;
+                        r += (long) (rgba.get(i) & 0xFF) * alpha;
+                        g += (long) (rgba.get(i + 1) & 0xFF) * alpha;
+                        b += (long) (rgba.get(i + 2) & 0xFF) * alpha;
+                        a += alpha;
+                    }
+                }
+
+                int pixels = (x1 - x0) * (y1 - y0);
+                int o = (by * SIZE + bx) * 4;
+                if (a > 0) {
+                    out[o] = (byte) (r / a);
+                    out[o + 1] = (byte) (g / a);
+                    out[o + 2] = (byte) (b / a);
+                }
+                out[o + 3] = (byte) (a / pixels);
+            }
+        }
+
+        return out;
+    }
+}
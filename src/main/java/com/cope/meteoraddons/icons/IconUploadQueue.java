@@ -0,0 +1,99 @@
+package com.cope.meteoraddons.icons;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Frame-budgeted queue of icons waiting for a texture upload.
+ * Icons are enqueued from any thread and uploaded on the render thread a few
+ * at a time, visible icons first, so a large batch never lands in one frame.
+ * Frame boundaries come from the screen drawing the icons (onFrame), never
+ * from the timing of the icon widgets themselves.
+ */
+public class IconUploadQueue {
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    // Render thread only
+    private Set<String> visibleThisFrame = new HashSet<>();
+    private Set<String> visibleLastFrame = new HashSet<>();
+
+    /**
+     * Queue an icon for upload (any thread). Duplicate requests collapse into one.
+     */
+    public void enqueue(String key) {
+        pending.add(key);
+    }
+
+    public boolean isPending(String key) {
+        return pending.contains(key);
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    public void clear() {
+        pending.clear();
+    }
+
+    /**
+     * Called by every icon widget as it renders (render thread). Records the icon
+     * as visible, so the next frame uploads it ahead of off-screen icons.
+     */
+    public void markVisible(String key) {
+        visibleThisFrame.add(key);
+    }
+
+    /**
+     * Called once at the start of every frame that draws icons (render thread).
+     * Closes the previous frame's visible set and runs the upload pump once.
+     *
+     * @param budgetNanos Upload time allowed for this frame
+     * @param uploader    Performs the actual upload for a key
+     * @return number of icons uploaded this frame
+     */
+    public int onFrame(long budgetNanos, Consumer<String> uploader) {
+        Set<String> swap = visibleLastFrame;
+        visibleLastFrame = visibleThisFrame;
+        visibleThisFrame = swap;
+        visibleThisFrame.clear();
+
+        return pump(budgetNanos, uploader);
+    }
+
+    /**
+     * Upload queued icons until the budget is spent, icons seen last frame first.
+     * At least one icon is uploaded per call so the queue always drains.
+     *
+     * @return number of icons uploaded
+     */
+    public int pump(long budgetNanos, Consumer<String> uploader) {
+        if (pending.isEmpty()) return 0;
+
+        long deadline = System.nanoTime() + budgetNanos;
+        int uploaded = 0;
+
+        for (String key : visibleLastFrame) {
+            if (uploaded > 0 && System.nanoTime() >= deadline) return uploaded;
+            if (pending.remove(key)) {
+                uploader.accept(key);
+                uploaded++;
+            }
+        }
+
+        Iterator<String> it = pending.iterator();
+        while (it.hasNext()) {
+            if (uploaded > 0 && System.nanoTime() >= deadline) break;
+            String key = it.next();
+            if (pending.remove(key)) {
+                uploader.accept(key);
+                uploaded++;
+            }
+        }
+
+        return uploaded;
+    }
+}
@@ -0,0 +1,37 @@
+package com.cope.meteoraddons.icons;
+
+import com.cope.meteoraddons.config.IconSizeConfig;
+
+/**
+ * Picks which pre-scaled icon variant to draw for a given on-screen size.
+ */
+public final class IconVariants {
+    private IconVariants() {
+    }
+
+    /**
+     * Smallest variant at least as large as the on-screen size, so icons are
+     * only ever scaled down; falls back to the largest variant.
+     *
+     * @param pixels On-screen width of the icon in physical pixels
+     */
+    public static int pick(double pixels) {
+        int[] sizes = IconSizeConfig.ICON_VARIANT_SIZES;
+        for (int size : sizes) {
+            if (size >= Math.round(pixels)) return size;
+        }
+        return sizes[sizes.length - 1];
+    }
+
+    public static int largest() {
+        int[] sizes = IconSizeConfig.ICON_VARIANT_SIZES;
+        return sizes[sizes.length - 1];
+    }
+
+    /**
+     * Cache key of one variant of an icon.
+     */
+    public static String key(String iconId, int size) {
+        return iconId + "@" + size;
+    }
+}
@@ -0,0 +1,154 @@
+package com.cope.meteoraddons.icons;
+
+import com.cope.meteoraddons.util.HashUtil;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * On-disk cache of resized icon pixels for installed addon JARs.
+ * Each variant is one file named after a hash of the JAR path, its
+ * modification time and the variant size, so replacing or updating a JAR
+ * simply misses and the stale files are removed by prune().
+ * File layout: int magic, int size, then size * size RGBA bytes.
+ */
+public class InstalledIconCache {
+    private static final int MAGIC = 0x4D414943;
+    private static final int HEADER_BYTES = 8;
+    private static final String EXTENSION = ".rgba";
+
+    private final Path directory;
+
+    public InstalledIconCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Identifies one version of an installed addon JAR.
+     */
+    public record Source(Path jar, long modifiedMillis) {
+        public static Source of(Path jar) throws IOException {
+            return new Source(jar.toAbsolutePath(), Files.getLastModifiedTime(jar).toMillis());
+        }
+
+        /**
+         * Stable key of this JAR version, usable in place of a content hash.
+         */
+        public String cacheKey() {
+            String key = jar + "|" + modifiedMillis;
+            return "jar-" + HashUtil.computeSha256(key.getBytes(StandardCharsets.UTF_8));
+        }
+
+        String fileName(int size) {
+            String key = jar + "|" + modifiedMillis + "|" + size;
+            return HashUtil.computeSha256(key.getBytes(StandardCharsets.UTF_8)) + EXTENSION;
+        }
+    }
+
+    public boolean contains(Source source, int size) {
+        return Files.isRegularFile(directory.resolve(source.fileName(size)));
+    }
+
+    /**
+     * Read a cached variant into a pooled buffer (worker thread).
+     *
+     * @return the icon, or empty if the variant is not cached or the file is damaged
+     */
+    public Optional<DecodedIcon> load(Source source, int size, PixelBufferPool pool) {
+        Path file = directory.resolve(source.fileName(size));
+        if (!Files.isRegularFile(file)) return Optional.empty();
+
+        int pixelBytes = size * size * 4;
+        ByteBuffer pixels = pool.acquire(pixelBytes);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() != HEADER_BYTES + pixelBytes) throw new IOException("Unexpected file size");
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.BIG_ENDIAN);
+            readFully(channel, header);
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != size) throw new IOException("Bad header");
+
+            pixels.clear().limit(pixelBytes);
+            readFully(channel, pixels);
+            pixels.flip();
+            return Optional.of(new DecodedIcon(size, pixels));
+        } catch (IOException e) {
+            pool.release(pixels);
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+            }
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Write a decoded variant (worker thread). The icon's buffer is not modified.
+     */
+    public void store(Source source, DecodedIcon icon) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(source.fileName(icon.size()));
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.BIG_ENDIAN);
+        header.putInt(MAGIC).putInt(icon.size()).flip();
+        ByteBuffer pixels = icon.rgba().duplicate();
+        pixels.rewind();
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (header.hasRemaining()) channel.write(header);
+            while (pixels.hasRemaining()) channel.write(pixels);
+        }
+
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Delete cached variant files that do not belong to any of the given
+     * sources. Other files, such as variants being written, are left alone.
+     *
+     * @return number of files deleted
+     */
+    public int prune(Set<Source> live, int[] sizes) {
+        if (!Files.isDirectory(directory)) return 0;
+
+        Set<String> keep = new HashSet<>();
+        for (Source source : live) {
+            for (int size : sizes) keep.add(source.fileName(size));
+        }
+
+        int deleted = 0;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                // Only finished variants: a .tmp file may be one store() is still writing
+                if (!name.endsWith(EXTENSION) || keep.contains(name)) continue;
+                try {
+                    Files.deleteIfExists(file);
+                    deleted++;
+                } catch (IOException ignored) {
+                }
+            }
+        } catch (IOException ignored) {
+        }
+        return deleted;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) throw new IOException("Unexpected end of file");
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.cope.meteoraddons.icons;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Pool of direct pixel buffers shared by the decoder threads and the render thread.
+ * Icons come in a handful of fixed sizes, so buffers are pooled per exact capacity.
+ */
+public class PixelBufferPool {
+    private final Map<Integer, Queue<ByteBuffer>> free = new ConcurrentHashMap<>();
+    private final int maxPerSize;
+
+    public PixelBufferPool(int maxPerSize) {
+        this.maxPerSize = maxPerSize;
+    }
+
+    /**
+     * Take a cleared buffer of exactly the given capacity (any thread).
+     */
+    public ByteBuffer acquire(int capacity) {
+        ByteBuffer buffer = free.computeIfAbsent(capacity, c -> new ConcurrentLinkedQueue<>()).poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Return a buffer once its contents have been uploaded (any thread).
+     * Buffers beyond the per-size limit are left to the garbage collector.
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect()) return;
+
+        Queue<ByteBuffer> queue = free.computeIfAbsent(buffer.capacity(), c -> new ConcurrentLinkedQueue<>());
+        if (queue.size() < maxPerSize) {
+            queue.offer(buffer);
+        }
+    }
+}
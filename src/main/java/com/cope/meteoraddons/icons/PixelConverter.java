@@ -0,0 +1,66 @@
+package com.cope.meteoraddons.icons;
+
+import com.mojang.blaze3d.platform.NativeImage;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Pixel kernels for texture uploads.
+ * NativeImage stores RGBA images as little-endian ABGR ints, which is already
+ * R, G, B, A byte order in memory. Converting to upload order is therefore a
+ * straight bulk copy out of image memory, with no intermediate int[] and no
+ * per-pixel shuffling.
+ */
+public final class PixelConverter {
+    private PixelConverter() {
+    }
+
+    /**
+     * Copy an RGBA NativeImage into dst as R, G, B, A bytes.
+     * dst is left positioned at 0 with its limit at the copied length.
+     */
+    public static void copyPixels(NativeImage image, ByteBuffer dst) {
+        if (image.format() != NativeImage.Format.RGBA) {
+            throw new IllegalArgumentException("Expected RGBA image, got " + image.format());
+        }
+        copyRgba(image.getPointer(), dst, image.getWidth() * image.getHeight());
+    }
+
+    /**
+     * Copy pixelCount RGBA pixels from native memory into dst.
+     */
+    public static void copyRgba(long srcAddress, ByteBuffer dst, int pixelCount) {
+        int bytes = pixelCount * 4;
+        dst.clear();
+        MemoryUtil.memCopy(srcAddress, MemoryUtil.memAddress(dst), bytes);
+        dst.limit(bytes);
+    }
+
+    /**
+     * Fill dst with pixelCount copies of one RGBA color.
+     * Writes a single pixel and then doubles the filled prefix with bulk copies.
+     */
+    public static void fill(ByteBuffer dst, int pixelCount, int r, int g, int b, int a) {
+        int bytes = pixelCount * 4;
+        dst.clear();
+        if (bytes == 0) {
+            dst.limit(0);
+            return;
+        }
+
+        long address = MemoryUtil.memAddress(dst);
+        MemoryUtil.memPutByte(address, (byte) r);
+        MemoryUtil.memPutByte(address + 1, (byte) g);
+        MemoryUtil.memPutByte(address + 2, (byte) b);
+        MemoryUtil.memPutByte(address + 3, (byte) a);
+
+        int filled = 4;
+        while (filled < bytes) {
+            int chunk = Math.min(filled, bytes - filled);
+            MemoryUtil.memCopy(address, address + filled, chunk);
+            filled += chunk;
+        }
+        dst.limit(bytes);
+    }
+}
@@ -0,0 +1,123 @@
+package com.cope.meteoraddons.icons;
+
+import meteordevelopment.meteorclient.renderer.Texture;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU registry of addon icon textures with a GPU memory budget in bytes.
+ * Render thread only. Entries used within the last second are never evicted,
+ * so the icons on screen cannot thrash even when they alone exceed the budget.
+ */
+public class TextureCache {
+    private static final long RECENT_USE_NANOS = 1_000_000_000L;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long budgetBytes;
+    private long usedBytes;
+    private long evictionCount;
+
+    public TextureCache(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    /**
+     * Look up a texture and mark it as most recently used.
+     */
+    public Texture get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) return null;
+
+        entry.lastUsedNanos = System.nanoTime();
+        return entry.texture;
+    }
+
+    public boolean contains(String key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * Add or replace a texture, then evict least recently used entries until
+     * usage fits the budget again.
+     */
+    public void put(String key, Texture texture, long bytes) {
+        Entry previous = entries.put(key, new Entry(texture, bytes));
+        if (previous != null) {
+            usedBytes -= previous.bytes;
+            if (previous.texture != texture) previous.texture.close();
+        }
+
+        usedBytes += bytes;
+        evictToBudget();
+    }
+
+    public void remove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            usedBytes -= entry.bytes;
+            entry.texture.close();
+        }
+    }
+
+    /**
+     * Close every texture. Used when the screens showing icons close.
+     */
+    public void clear() {
+        for (Entry entry : entries.values()) {
+            entry.texture.close();
+        }
+        entries.clear();
+        usedBytes = 0;
+    }
+
+    public void setBudgetBytes(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+        evictToBudget();
+    }
+
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evictToBudget() {
+        if (usedBytes <= budgetBytes) return;
+
+        long now = System.nanoTime();
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (usedBytes > budgetBytes && it.hasNext()) {
+            Entry entry = it.next().getValue();
+            if (now - entry.lastUsedNanos < RECENT_USE_NANOS) break;
+
+            it.remove();
+            usedBytes -= entry.bytes;
+            entry.texture.close();
+            evictionCount++;
+        }
+    }
+
+    private static class Entry {
+        final Texture texture;
+        final long bytes;
+        long lastUsedNanos;
+
+        Entry(Texture texture, long bytes) {
+            this.texture = texture;
+            this.bytes = bytes;
+            this.lastUsedNanos = System.nanoTime();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.cope.meteoraddons.models;
 
+import com.cope.meteoraddons.util.IconUrlRewriter;
 import com.cope.meteoraddons.util.VersionUtil;
 
 import java.util.List;
@@ -63,6 +64,13 @@ public class AddonMetadata {
                 links != null ? links.icon : null);
     }
 
+    /**
+     * Icon URL asking the host for a rendition no larger than needed, where supported.
+     */
+    public String getIconUrl(int size) {
+        return IconUrlRewriter.rewrite(getIconUrl(), size);
+    }
+
     public String getDiscordUrl() {
         return getFirstNonEmpty(
                 custom != null ? custom.discord : null,
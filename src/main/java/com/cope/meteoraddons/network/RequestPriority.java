@@ -0,0 +1,27 @@
+package com.cope.meteoraddons.network;
+
+import com.cope.meteoraddons.config.NetworkConfig;
+
+/**
+ * QoS classes of RequestScheduler, highest first.
+ */
+public enum RequestPriority {
+    USER_INITIATED(NetworkConfig.USER_INITIATED_LIMIT),
+    VISIBLE_UI(NetworkConfig.VISIBLE_UI_LIMIT),
+    BACKGROUND(NetworkConfig.BACKGROUND_LIMIT),
+    PREFETCH(NetworkConfig.PREFETCH_LIMIT);
+
+    private final int defaultLimit;
+
+    RequestPriority(int defaultLimit) {
+        this.defaultLimit = defaultLimit;
+    }
+
+    public int getDefaultLimit() {
+        return defaultLimit;
+    }
+
+    public boolean isHigherThan(RequestPriority other) {
+        return ordinal() < other.ordinal();
+    }
+}
@@ -0,0 +1,181 @@
+package com.cope.meteoraddons.network;
+
+import com.cope.meteoraddons.config.NetworkConfig;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs network and I/O requests by QoS class instead of first come, first served.
+ * Each class has its own concurrency limit and FIFO queue. Queued requests
+ * start strictly by class: while a higher class has queued work that is only
+ * waiting on the shared limit, no lower class takes a free slot.
+ * USER_INITIATED requests only count against their own limit, so a button
+ * press never waits behind background work that is already running.
+ * Thread-safe.
+ */
+public class RequestScheduler {
+    private static final RequestScheduler INSTANCE = new RequestScheduler(newWorkerPool(),
+        NetworkConfig.MAX_CONCURRENT_REQUESTS);
+
+    private final Executor workers;
+    private final int maxConcurrent;
+    private final Map<RequestPriority, Integer> limits = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, ArrayDeque<Request<?>>> queues = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, Integer> running = new EnumMap<>(RequestPriority.class);
+    private final Map<String, Request<?>> queuedByKey = new HashMap<>();
+    private int sharedRunning;
+
+    RequestScheduler(Executor workers, int maxConcurrent) {
+        this.workers = workers;
+        this.maxConcurrent = maxConcurrent;
+        for (RequestPriority priority : RequestPriority.values()) {
+            limits.put(priority, priority.getDefaultLimit());
+            queues.put(priority, new ArrayDeque<>());
+            running.put(priority, 0);
+        }
+    }
+
+    public static RequestScheduler get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Queue a request.
+     * Submitting a key that is still queued does not add another request; the
+     * queued one is promoted to the given priority if that is higher, and its
+     * future is returned. Callers sharing a key must share the result type.
+     *
+     * @param key Identifies duplicate requests, or null
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> CompletableFuture<T> submit(RequestPriority priority, String key, Callable<T> work) {
+        if (key != null) {
+            Request<?> queued = queuedByKey.get(key);
+            if (queued != null) {
+                if (promote(queued, priority)) dispatch();
+                return (CompletableFuture<T>) queued.future;
+            }
+        }
+
+        Request<T> request = new Request<>(priority, key, work);
+        queues.get(priority).addLast(request);
+        if (key != null) queuedByKey.put(key, request);
+        dispatch();
+        return request.future;
+    }
+
+    public CompletableFuture<Void> execute(RequestPriority priority, String key, Runnable work) {
+        return submit(priority, key, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> execute(RequestPriority priority, Runnable work) {
+        return execute(priority, null, work);
+    }
+
+    /**
+     * Move a queued request up to a higher class, e.g. when a prefetched icon
+     * scrolls into view. Requests already running or at that class or above are left alone.
+     *
+     * @return true if the request was promoted
+     */
+    public synchronized boolean promote(String key, RequestPriority priority) {
+        Request<?> queued = queuedByKey.get(key);
+        if (queued == null || !promote(queued, priority)) return false;
+        dispatch();
+        return true;
+    }
+
+    public synchronized void setLimit(RequestPriority priority, int limit) {
+        limits.put(priority, Math.max(1, limit));
+        dispatch();
+    }
+
+    public synchronized int getLimit(RequestPriority priority) {
+        return limits.get(priority);
+    }
+
+    public synchronized int getQueuedCount(RequestPriority priority) {
+        return queues.get(priority).size();
+    }
+
+    public synchronized int getRunningCount(RequestPriority priority) {
+        return running.get(priority);
+    }
+
+    private boolean promote(Request<?> request, RequestPriority priority) {
+        if (!priority.isHigherThan(request.priority)) return false;
+
+        queues.get(request.priority).remove(request);
+        request.priority = priority;
+        queues.get(priority).addLast(request);
+        return true;
+    }
+
+    private void dispatch() {
+        for (RequestPriority priority : RequestPriority.values()) {
+            boolean shared = priority != RequestPriority.USER_INITIATED;
+            ArrayDeque<Request<?>> queue = queues.get(priority);
+
+            while (!queue.isEmpty() && running.get(priority) < limits.get(priority)) {
+                // Lower classes must not take shared slots this class is queued for
+                if (shared && sharedRunning >= maxConcurrent) return;
+
+                Request<?> request = queue.pollFirst();
+                if (request.key != null) queuedByKey.remove(request.key);
+                if (request.future.isDone()) continue; // Cancelled while queued
+
+                running.merge(priority, 1, Integer::sum);
+                if (shared) sharedRunning++;
+                workers.execute(() -> run(request, priority));
+            }
+        }
+    }
+
+    private <T> void run(Request<T> request, RequestPriority slot) {
+        try {
+            request.future.complete(request.work.call());
+        } catch (Throwable t) {
+            request.future.completeExceptionally(t);
+        } finally {
+            synchronized (this) {
+                running.merge(slot, -1, Integer::sum);
+                if (slot != RequestPriority.USER_INITIATED) sharedRunning--;
+                dispatch();
+            }
+        }
+    }
+
+    private static Executor newWorkerPool() {
+        AtomicInteger threadCount = new AtomicInteger();
+        // Threads are bounded by the class limits, so an unbounded cached pool is fine
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "MeteorAddons-Request-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static class Request<T> {
+        private final String key;
+        private final Callable<T> work;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private RequestPriority priority;
+
+        Request(RequestPriority priority, String key, Callable<T> work) {
+            this.priority = priority;
+            this.key = key;
+            this.work = work;
+        }
+    }
+}
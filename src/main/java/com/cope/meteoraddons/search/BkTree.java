@@ -0,0 +1,169 @@
+package com.cope.meteoraddons.search;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+
+/**
+ * BK-tree over a term dictionary for edit-distance lookups. Each child hangs
+ * off its parent by their Levenshtein distance, so by the triangle inequality
+ * a lookup within k edits only descends into children whose edge lies within
+ * k of the query's distance to the parent, skipping most of the dictionary.
+ * Nodes are term ids stored in flat arrays. Immutable and thread-safe once built.
+ */
+final class BkTree {
+    interface Visitor {
+        void accept(int term, int distance);
+    }
+
+    private static final int NONE = -1;
+
+    private final String[] terms;
+    private final int[] edge;
+    private final int[] firstChild;
+    private final int[] nextSibling;
+
+    private BkTree(String[] terms) {
+        this.terms = terms;
+        this.edge = new int[terms.length];
+        this.firstChild = new int[terms.length];
+        this.nextSibling = new int[terms.length];
+        Arrays.fill(firstChild, NONE);
+        Arrays.fill(nextSibling, NONE);
+    }
+
+    /**
+     * @param terms Distinct terms; a term's index is its id
+     */
+    static BkTree build(String[] terms) {
+        BkTree tree = new BkTree(terms);
+        for (int term = 1; term < terms.length; term++) {
+            tree.insert(term);
+        }
+        return tree;
+    }
+
+    void write(IndexCodec.Writer out) throws IOException {
+        out.writeInts(edge);
+        out.writeInts(firstChild);
+        out.writeInts(nextSibling);
+    }
+
+    /**
+     * @param terms The terms the tree was built over
+     */
+    static BkTree read(IndexCodec.Reader in, String[] terms) throws IOException {
+        BkTree tree = new BkTree(terms);
+        int[] edge = in.readInts();
+        int[][] links = {in.readInts(), in.readInts()};
+        if (edge.length != terms.length) throw new IOException("Bad BK-tree");
+        for (int distance : edge) {
+            if (distance < 0) throw new IOException("Bad BK-tree edge");
+        }
+        for (int[] array : links) {
+            if (array.length != terms.length) throw new IOException("Bad BK-tree");
+            for (int node : array) {
+                if (node < NONE || node >= terms.length) throw new IOException("Bad BK-tree node");
+            }
+        }
+        System.arraycopy(edge, 0, tree.edge, 0, terms.length);
+        System.arraycopy(links[0], 0, tree.firstChild, 0, terms.length);
+        System.arraycopy(links[1], 0, tree.nextSibling, 0, terms.length);
+        if (!tree.isTree()) throw new IOException("Bad BK-tree shape");
+        return tree;
+    }
+
+    /**
+     * Whether every node but the root is reached exactly once from the root,
+     * as build() links the distinct terms. A cycle would make search() loop
+     * forever, so read() checks this before handing the tree out.
+     */
+    private boolean isTree() {
+        if (terms.length == 0) return true;
+
+        BitSet reached = new BitSet(terms.length);
+        reached.set(0);
+        Deque<Integer> pending = new ArrayDeque<>();
+        pending.push(0);
+        while (!pending.isEmpty()) {
+            int node = pending.pop();
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                // Every step reaches a new node, so this ends after at most terms.length steps
+                if (reached.get(child)) return false;
+                reached.set(child);
+                pending.push(child);
+            }
+        }
+        return reached.cardinality() == terms.length;
+    }
+
+    /**
+     * Visit every term within maxDistance edits of the query.
+     */
+    void search(String query, int maxDistance, Visitor visitor) {
+        if (terms.length == 0) return;
+
+        Deque<Integer> pending = new ArrayDeque<>();
+        pending.push(0);
+        while (!pending.isEmpty()) {
+            int node = pending.pop();
+            int distance = distance(query, terms[node]);
+            if (distance <= maxDistance) visitor.accept(node, distance);
+
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                if (Math.abs(edge[child] - distance) <= maxDistance) pending.push(child);
+            }
+        }
+    }
+
+    private void insert(int term) {
+        int node = 0;
+        while (true) {
+            int distance = distance(terms[term], terms[node]);
+            if (distance == 0) return;
+
+            int child = firstChild[node];
+            while (child != NONE && edge[child] != distance) {
+                child = nextSibling[child];
+            }
+            if (child == NONE) {
+                edge[term] = distance;
+                nextSibling[term] = firstChild[node];
+                firstChild[node] = term;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Levenshtein distance: insertions, deletions and substitutions.
+     */
+    static int distance(String a, String b) {
+        if (a.length() < b.length()) {
+            String swap = a;
+            a = b;
+            b = swap;
+        }
+
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char c = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int substitute = previous[j - 1] + (c == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitute, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
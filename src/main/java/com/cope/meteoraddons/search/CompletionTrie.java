@@ -0,0 +1,275 @@
+package com.cope.meteoraddons.search;
+
+import com.cope.meteoraddons.addons.Addon;
+import com.cope.meteoraddons.addons.OnlineAddon;
+import com.cope.meteoraddons.models.AddonMetadata;
+import com.cope.meteoraddons.models.AddonMetadata.FeatureItem;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Prefix trie over the addon, module, command, author and tag names of a
+ * catalog snapshot, for completing the query being typed. Every name is
+ * weighted by the popularity of the addons using it, and every node stores
+ * the highest weight below it, so the top k completions of a prefix are found
+ * best first by expanding only the nodes that can still beat the k-th one,
+ * whatever the number of names under the prefix. Names are reachable from the
+ * start of each of their words, camel case words included, so "totem"
+ * completes to AutoTotem. Nodes are stored in flat arrays.
+ * Immutable and thread-safe once built.
+ */
+final class CompletionTrie {
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+    private static final int DOWNLOADS_PER_STAR = 100;
+    private static final int MAX_KEY_LENGTH = 64;
+    private static final long ENTRY = Long.MIN_VALUE;
+
+    private final char[] labels;
+    private final int[] firstChild;
+    private final int[] nextSibling;
+    private final long[] best;
+    // Entries ending at node n are nodeEntries[entryStart[n]] to nodeEntries[entryStart[n + 1]]
+    private final int[] entryStart;
+    private final int[] nodeEntries;
+
+    private final String[] texts;
+    private final SearchField[] kinds;
+    private final long[] weights;
+
+    private CompletionTrie(char[] labels, int[] firstChild, int[] nextSibling, long[] best,
+                           int[] entryStart, int[] nodeEntries,
+                           String[] texts, SearchField[] kinds, long[] weights) {
+        this.labels = labels;
+        this.firstChild = firstChild;
+        this.nextSibling = nextSibling;
+        this.best = best;
+        this.entryStart = entryStart;
+        this.nodeEntries = nodeEntries;
+        this.texts = texts;
+        this.kinds = kinds;
+        this.weights = weights;
+    }
+
+    /**
+     * Names of catalog addons, weighted by stars and downloads. Addons
+     * without catalog metadata contribute their name and authors with the
+     * lowest weight.
+     */
+    static CompletionTrie build(List<? extends Addon> addons) {
+        Builder builder = new Builder();
+        for (Addon addon : addons) {
+            AddonMetadata meta = addon instanceof OnlineAddon online ? online.getMetadata() : null;
+            long weight = popularity(meta);
+
+            builder.add(addon.getName(), SearchField.NAME, weight);
+            if (addon.getAuthors() != null) {
+                addon.getAuthors().forEach(author -> builder.add(author, SearchField.AUTHOR, weight));
+            }
+            if (meta == null) continue;
+
+            if (meta.custom != null && meta.custom.tags != null) {
+                meta.custom.tags.forEach(tag -> builder.add(tag, SearchField.TAG, weight));
+            }
+            if (meta.features != null) {
+                builder.addFeatures(meta.features.modules, SearchField.MODULE, weight);
+                builder.addFeatures(meta.features.commands, SearchField.COMMAND, weight);
+            }
+        }
+        return builder.build();
+    }
+
+    static long popularity(AddonMetadata meta) {
+        if (meta == null || meta.repo == null) return 1;
+        return 1 + Math.max(0, meta.repo.stars) + Math.max(0, meta.repo.downloads) / DOWNLOADS_PER_STAR;
+    }
+
+    /**
+     * The most popular names with a word starting with the typed text,
+     * ignoring case and accents.
+     *
+     * @return at most limit suggestions, most popular first; none for blank text
+     */
+    List<Suggestion> suggest(String text, int limit) {
+        String prefix = TextFolder.fold(text).stripLeading();
+        if (prefix.isEmpty() || limit <= 0) return List.of();
+
+        int node = ROOT;
+        for (int i = 0; i < prefix.length() && node != NONE; i++) {
+            node = child(node, prefix.charAt(i));
+        }
+        if (node == NONE) return List.of();
+
+        // Candidates are {weight, id}: nodes by the best weight below them and
+        // entries, with ids offset by ENTRY, by their own. An entry polled
+        // first beats everything left. On equal weights entries come first,
+        // in the order they were added
+        PriorityQueue<long[]> queue = new PriorityQueue<>(Comparator
+            .comparingLong((long[] candidate) -> -candidate[0])
+            .thenComparingLong(candidate -> candidate[1]));
+        queue.add(new long[] {best[node], node});
+
+        List<Suggestion> suggestions = new ArrayList<>(limit);
+        BitSet seen = new BitSet(texts.length);
+        while (!queue.isEmpty() && suggestions.size() < limit) {
+            long id = queue.poll()[1];
+            if (id < 0) {
+                int entry = (int) (id - ENTRY);
+                if (!seen.get(entry)) {
+                    seen.set(entry);
+                    suggestions.add(new Suggestion(texts[entry], kinds[entry]));
+                }
+                continue;
+            }
+
+            int current = (int) id;
+            for (int i = entryStart[current]; i < entryStart[current + 1]; i++) {
+                int entry = nodeEntries[i];
+                if (!seen.get(entry)) queue.add(new long[] {weights[entry], ENTRY + entry});
+            }
+            for (int child = firstChild[current]; child != NONE; child = nextSibling[child]) {
+                queue.add(new long[] {best[child], child});
+            }
+        }
+        return suggestions;
+    }
+
+    int getNodeCount() {
+        return labels.length;
+    }
+
+    int getEntryCount() {
+        return texts.length;
+    }
+
+    private int child(int node, char label) {
+        // Siblings are sorted by label
+        for (int child = firstChild[node]; child != NONE && labels[child] <= label; child = nextSibling[child]) {
+            if (labels[child] == label) return child;
+        }
+        return NONE;
+    }
+
+    private static class Builder {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> texts = new ArrayList<>();
+        private final List<SearchField> kinds = new ArrayList<>();
+        private final List<Long> weights = new ArrayList<>();
+        private final List<Set<String>> keys = new ArrayList<>();
+
+        /**
+         * Names folding to the same text are one entry, spelled and kinded as
+         * first seen, weighted by the sum over the addons using it.
+         */
+        void add(String text, SearchField kind, long weight) {
+            if (text == null) return;
+            String folded = TextFolder.fold(text).trim();
+            if (folded.isEmpty()) return;
+
+            Integer id = ids.get(folded);
+            if (id == null) {
+                id = texts.size();
+                ids.put(folded, id);
+                texts.add(text.trim());
+                kinds.add(kind);
+                weights.add(weight);
+                keys.add(new LinkedHashSet<>());
+            } else {
+                weights.set(id, weights.get(id) + weight);
+            }
+
+            Set<String> entryKeys = keys.get(id);
+            entryKeys.add(folded);
+            String words = TextFolder.fold(TextFolder.splitCamelCase(text)).trim();
+            for (int i = 0; i < words.length(); i++) {
+                boolean wordStart = Character.isLetterOrDigit(words.charAt(i))
+                    && (i == 0 || !Character.isLetterOrDigit(words.charAt(i - 1)));
+                if (wordStart) entryKeys.add(words.substring(i));
+            }
+        }
+
+        void addFeatures(List<FeatureItem> items, SearchField kind, long weight) {
+            if (items == null) return;
+            for (FeatureItem item : items) {
+                if (item != null) add(item.name, kind, weight);
+            }
+        }
+
+        CompletionTrie build() {
+            StringBuilder labels = new StringBuilder().append('\0');
+            List<Integer> firstChild = new ArrayList<>(List.of(NONE));
+            List<Integer> nextSibling = new ArrayList<>(List.of(NONE));
+            List<Integer> parents = new ArrayList<>(List.of(NONE));
+            // (node, entry) pairs of every key's last node
+            List<long[]> ends = new ArrayList<>();
+
+            for (int entry = 0; entry < texts.size(); entry++) {
+                for (String key : keys.get(entry)) {
+                    int node = ROOT;
+                    for (int i = 0; i < Math.min(key.length(), MAX_KEY_LENGTH); i++) {
+                        char label = key.charAt(i);
+                        int previous = NONE;
+                        int child = firstChild.get(node);
+                        while (child != NONE && labels.charAt(child) < label) {
+                            previous = child;
+                            child = nextSibling.get(child);
+                        }
+                        if (child == NONE || labels.charAt(child) != label) {
+                            int created = labels.length();
+                            labels.append(label);
+                            firstChild.add(NONE);
+                            nextSibling.add(child);
+                            parents.add(node);
+                            if (previous == NONE) {
+                                firstChild.set(node, created);
+                            } else {
+                                nextSibling.set(previous, created);
+                            }
+                            child = created;
+                        }
+                        node = child;
+                    }
+                    ends.add(new long[] {node, entry});
+                }
+            }
+
+            int nodeCount = labels.length();
+            ends.sort(Comparator.comparingLong((long[] end) -> end[0]).thenComparingLong(end -> end[1]));
+            int[] entryStart = new int[nodeCount + 1];
+            int[] nodeEntries = new int[ends.size()];
+            long[] best = new long[nodeCount];
+            for (int i = 0; i < ends.size(); i++) {
+                int node = (int) ends.get(i)[0];
+                int entry = (int) ends.get(i)[1];
+                nodeEntries[i] = entry;
+                entryStart[node + 1]++;
+                best[node] = Math.max(best[node], weights.get(entry));
+            }
+            for (int node = 0; node < nodeCount; node++) {
+                entryStart[node + 1] += entryStart[node];
+            }
+            // Children are created after their parent, so one backward pass
+            // carries every subtree's best weight up to the root
+            for (int node = nodeCount - 1; node > ROOT; node--) {
+                int parent = parents.get(node);
+                best[parent] = Math.max(best[parent], best[node]);
+            }
+
+            return new CompletionTrie(labels.toString().toCharArray(), toArray(firstChild), toArray(nextSibling), best,
+                entryStart, nodeEntries, texts.toArray(String[]::new), kinds.toArray(SearchField[]::new),
+                weights.stream().mapToLong(Long::longValue).toArray());
+        }
+
+        private static int[] toArray(List<Integer> list) {
+            return list.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+}
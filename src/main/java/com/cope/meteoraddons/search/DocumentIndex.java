@@ -0,0 +1,221 @@
+package com.cope.meteoraddons.search;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Trigram inverted index and TermIndex over a fixed array of SearchDocuments,
+ * whose positions are their ids. A substring query intersects the posting
+ * lists of its trigrams and only verifies the candidates left, so its cost
+ * follows the number of matches rather than the number of documents.
+ * Immutable and thread-safe once built.
+ */
+final class DocumentIndex {
+    private static final int GRAM = 3;
+    private static final float PHRASE_BONUS = 1.0f;
+
+    private final SearchDocument[] documents;
+    private final Map<Long, int[]> postings;
+    private final TermIndex terms;
+    private final int[] allIds;
+
+    private DocumentIndex(SearchDocument[] documents, Map<Long, int[]> postings, TermIndex terms) {
+        this.documents = documents;
+        this.postings = postings;
+        this.terms = terms;
+        this.allIds = new int[documents.length];
+        Arrays.setAll(allIds, i -> i);
+    }
+
+    static DocumentIndex build(SearchDocument[] documents) {
+        Map<Long, List<Integer>> lists = new HashMap<>();
+
+        Set<Long> grams = new HashSet<>();
+        for (int doc = 0; doc < documents.length; doc++) {
+            grams.clear();
+            String text = documents[doc].getText();
+            for (int i = 0; i + GRAM <= text.length(); i++) {
+                long gram = trigram(text, i);
+                if (!crossesField(text, i)) grams.add(gram);
+            }
+            // Documents are visited in order, so every posting list stays sorted
+            for (Long gram : grams) {
+                lists.computeIfAbsent(gram, g -> new ArrayList<>()).add(doc);
+            }
+        }
+
+        Map<Long, int[]> postings = new HashMap<>(lists.size() * 4 / 3 + 1);
+        lists.forEach((gram, list) -> postings.put(gram, list.stream().mapToInt(Integer::intValue).toArray()));
+        return new DocumentIndex(documents, postings, TermIndex.build(documents));
+    }
+
+    void write(IndexCodec.Writer out) throws IOException {
+        out.writeInt(documents.length);
+        for (SearchDocument document : documents) {
+            document.write(out);
+        }
+
+        // Sorted, so the same index always writes the same bytes
+        long[] grams = postings.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        out.writeInt(grams.length);
+        for (long gram : grams) {
+            out.writeLong(gram);
+            out.writeInts(postings.get(gram));
+        }
+        terms.write(out);
+    }
+
+    static DocumentIndex read(IndexCodec.Reader in) throws IOException {
+        SearchDocument[] documents = new SearchDocument[in.readCount()];
+        for (int doc = 0; doc < documents.length; doc++) {
+            documents[doc] = SearchDocument.read(in);
+        }
+
+        int count = in.readCount();
+        Map<Long, int[]> postings = new HashMap<>(count * 4 / 3 + 1);
+        for (int i = 0; i < count; i++) {
+            long gram = in.readLong();
+            postings.put(gram, in.readIds(documents.length));
+        }
+
+        TermIndex terms = TermIndex.read(in);
+        if (terms.getDocumentCount() != documents.length) throw new IOException("Term index does not match documents");
+        return new DocumentIndex(documents, postings, terms);
+    }
+
+    int size() {
+        return documents.length;
+    }
+
+    SearchDocument document(int doc) {
+        return documents[doc];
+    }
+
+    /**
+     * Every id, ascending. Callers must not modify it.
+     */
+    int[] all() {
+        return allIds;
+    }
+
+    /**
+     * Ids of the documents matching a normalized query, ascending.
+     */
+    int[] find(String q) {
+        if (q.isEmpty()) return allIds;
+        // Too short for a trigram; such queries match most documents anyway
+        if (q.length() < GRAM) return refine(allIds, q);
+        return refine(candidates(q), q);
+    }
+
+    /**
+     * Keep the documents among ids that contain a normalized query.
+     */
+    int[] refine(int[] ids, String q) {
+        if (q.isEmpty()) return ids;
+
+        int[] out = new int[ids.length];
+        int n = 0;
+        for (int doc : ids) {
+            if (documents[doc].contains(q)) out[n++] = doc;
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    /**
+     * Ids of the documents matching a normalized query by words, best first.
+     * Documents containing the whole query verbatim always match, with a bonus
+     * for the field it appears in, so ranked results include the substring ones.
+     */
+    int[] rank(String q) {
+        if (q.isEmpty()) return allIds;
+
+        boolean lastIsPartial = Character.isLetterOrDigit(q.charAt(q.length() - 1));
+        float[] scores = terms.score(TermIndex.words(q), lastIsPartial);
+        for (int doc : find(q)) {
+            scores[doc] += PHRASE_BONUS * phraseWeight(doc, q);
+        }
+
+        List<Integer> ranked = new ArrayList<>();
+        for (int doc = 0; doc < scores.length; doc++) {
+            if (scores[doc] > 0) ranked.add(doc);
+        }
+        // Stable sort: equal scores keep document order
+        ranked.sort((a, b) -> Float.compare(scores[b], scores[a]));
+        return ranked.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Documents containing every trigram of the query. Trigrams may come from
+     * different fields or positions, hence the verification pass.
+     */
+    private int[] candidates(String q) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= q.length(); i++) {
+            grams.add(trigram(q, i));
+        }
+
+        List<int[]> lists = new ArrayList<>(grams.size());
+        for (Long gram : grams) {
+            int[] list = postings.get(gram);
+            if (list == null) return new int[0];
+            lists.add(list);
+        }
+
+        // Shortest list first keeps every intermediate result small
+        lists.sort(Comparator.comparingInt(list -> list.length));
+        int[] result = lists.get(0);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, lists.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Weight of the most important field containing q.
+     */
+    private float phraseWeight(int doc, String q) {
+        SearchDocument document = documents[doc];
+        String text = document.getText();
+        float weight = 0;
+        for (int at = text.indexOf(q); at >= 0; at = text.indexOf(q, at + 1)) {
+            weight = Math.max(weight, document.getFieldKind(document.fieldAt(at)).getWeight());
+        }
+        return weight;
+    }
+
+    static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    static long trigram(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+
+    private static boolean crossesField(String text, int i) {
+        for (int j = i; j < i + GRAM; j++) {
+            if (text.charAt(j) == SearchDocument.SEPARATOR) return true;
+        }
+        return false;
+    }
+}
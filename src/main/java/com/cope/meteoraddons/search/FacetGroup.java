@@ -0,0 +1,29 @@
+package com.cope.meteoraddons.search;
+
+/**
+ * Properties search results can be filtered by. Values selected within a
+ * group are alternatives (OR); selected groups must all hold (AND).
+ * SCOPE picks installed addons, catalog addons or both; screens set it
+ * rather than listing it with the other filters.
+ */
+public enum FacetGroup {
+    SCOPE("Scope"),
+    TAG("Tags"),
+    AUTHOR("Authors"),
+    VERIFIED("Verified"),
+    HUD("HUD Elements"),
+    ARCHIVED("Archived"),
+    FORK("Fork"),
+    STARS("Stars"),
+    UPDATED("Updated");
+
+    private final String title;
+
+    FacetGroup(String title) {
+        this.title = title;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+}
@@ -0,0 +1,273 @@
+package com.cope.meteoraddons.search;
+
+import com.cope.meteoraddons.addons.Addon;
+import com.cope.meteoraddons.addons.OnlineAddon;
+import com.cope.meteoraddons.models.AddonMetadata;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One bitset of document ids per facet value of a catalog snapshot, built
+ * with its SearchIndex. Filtering ORs the bitsets of the values selected in
+ * a group and ANDs the groups; counting intersects each value's bitset with
+ * the current results and takes the popcount. Neither rescans the catalog.
+ * Values of yes/no groups are YES and NO; STARS values are minimum star
+ * counts and UPDATED values are day counts, as strings. SCOPE values are
+ * INSTALLED, ONLINE and ALL, where ALL leaves out catalog entries of
+ * installed addons since the installed entry stands for both.
+ * Immutable and thread-safe once built.
+ */
+public final class FacetIndex {
+    public static final String YES = "yes";
+    public static final String NO = "no";
+    public static final String INSTALLED = "installed";
+    public static final String ONLINE = "online";
+    public static final String ALL = "all";
+
+    static final int[] STAR_THRESHOLDS = {10, 100, 1000};
+    static final int[] UPDATED_WITHIN_DAYS = {7, 30, 90, 365};
+
+    private final int size;
+    private final Map<FacetGroup, Map<String, BitSet>> values;
+    private final Map<String, String> labels;
+
+    private FacetIndex(int size, Map<FacetGroup, Map<String, BitSet>> values, Map<String, String> labels) {
+        this.size = size;
+        this.values = values;
+        this.labels = labels;
+    }
+
+    /**
+     * Facets of catalog addons only.
+     *
+     * @param now Reference time for UPDATED
+     */
+    static FacetIndex build(List<Addon> docs, Instant now) {
+        List<OnlineAddon> listings = new ArrayList<>(docs.size());
+        for (Addon addon : docs) {
+            listings.add(addon instanceof OnlineAddon online ? online : null);
+        }
+        return build(docs, listings, 0, now);
+    }
+
+    /**
+     * @param listings Catalog entry of each document, or null
+     * @param installedCount Documents before this index are installed addons, the rest catalog entries
+     * @param now Reference time for UPDATED
+     */
+    static FacetIndex build(List<Addon> docs, List<OnlineAddon> listings, int installedCount, Instant now) {
+        Builder builder = new Builder();
+        Set<String> installedNames = new HashSet<>();
+        for (int doc = 0; doc < docs.size(); doc++) {
+            Addon addon = docs.get(doc);
+            builder.add(doc, addon, listings.get(doc), now);
+
+            if (doc < installedCount) {
+                installedNames.add(addon.getName());
+                builder.add(FacetGroup.SCOPE, INSTALLED, doc);
+                builder.add(FacetGroup.SCOPE, ALL, doc);
+            } else {
+                builder.add(FacetGroup.SCOPE, ONLINE, doc);
+                if (!installedNames.contains(addon.getName())) builder.add(FacetGroup.SCOPE, ALL, doc);
+            }
+        }
+        return builder.build(docs.size());
+    }
+
+    /**
+     * Values of a group: most common first for tags and authors, ascending otherwise.
+     */
+    public List<String> getValues(FacetGroup group) {
+        return List.copyOf(values.get(group).keySet());
+    }
+
+    public String getLabel(FacetGroup group, String value) {
+        return switch (group) {
+            case TAG, AUTHOR -> labels.getOrDefault(group + ":" + value, value);
+            case SCOPE -> switch (value) {
+                case INSTALLED -> "Installed";
+                case ONLINE -> "Online";
+                default -> "All";
+            };
+            case STARS -> value + "+";
+            case UPDATED -> value + " days";
+            default -> YES.equals(value) ? "Yes" : "No";
+        };
+    }
+
+    /**
+     * Documents passing a selection.
+     */
+    public BitSet filter(FacetSelection selection) {
+        BitSet result = new BitSet(size);
+        result.set(0, size);
+        for (FacetGroup group : selection.getGroups()) {
+            result.and(anyOf(group, selection));
+        }
+        return result;
+    }
+
+    /**
+     * Keep the ids passing a selection, in their given order.
+     */
+    public int[] filter(int[] ids, FacetSelection selection) {
+        if (selection.isEmpty()) return ids;
+
+        BitSet allowed = filter(selection);
+        int[] out = new int[ids.length];
+        int n = 0;
+        for (int doc : ids) {
+            if (allowed.get(doc)) out[n++] = doc;
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    /**
+     * How many of the matched ids each value would leave. A group's counts
+     * apply every other selected group but not itself, so they show what
+     * selecting another value of that group would give.
+     */
+    public Map<FacetGroup, Map<String, Integer>> count(int[] ids, FacetSelection selection) {
+        BitSet matched = new BitSet(size);
+        for (int doc : ids) {
+            matched.set(doc);
+        }
+
+        Map<FacetGroup, BitSet> groupFilters = new EnumMap<>(FacetGroup.class);
+        for (FacetGroup group : selection.getGroups()) {
+            groupFilters.put(group, anyOf(group, selection));
+        }
+
+        Map<FacetGroup, Map<String, Integer>> counts = new EnumMap<>(FacetGroup.class);
+        for (FacetGroup group : FacetGroup.values()) {
+            BitSet base = (BitSet) matched.clone();
+            groupFilters.forEach((other, filter) -> {
+                if (other != group) base.and(filter);
+            });
+
+            Map<String, Integer> groupCounts = new LinkedHashMap<>();
+            values.get(group).forEach((value, docs) -> {
+                BitSet hits = (BitSet) docs.clone();
+                hits.and(base);
+                groupCounts.put(value, hits.cardinality());
+            });
+            counts.put(group, groupCounts);
+        }
+        return counts;
+    }
+
+    private BitSet anyOf(FacetGroup group, FacetSelection selection) {
+        BitSet any = new BitSet(size);
+        for (String value : selection.getValues(group)) {
+            BitSet docs = values.get(group).get(value);
+            if (docs != null) any.or(docs);
+        }
+        return any;
+    }
+
+    private static class Builder {
+        private final Map<FacetGroup, Map<String, BitSet>> values = new EnumMap<>(FacetGroup.class);
+        private final Map<String, String> labels = new HashMap<>();
+
+        Builder() {
+            for (FacetGroup group : FacetGroup.values()) {
+                values.put(group, new LinkedHashMap<>());
+            }
+            for (int stars : STAR_THRESHOLDS) {
+                values.get(FacetGroup.STARS).put(String.valueOf(stars), new BitSet());
+            }
+            for (int days : UPDATED_WITHIN_DAYS) {
+                values.get(FacetGroup.UPDATED).put(String.valueOf(days), new BitSet());
+            }
+            for (String scope : List.of(INSTALLED, ONLINE, ALL)) {
+                values.get(FacetGroup.SCOPE).put(scope, new BitSet());
+            }
+        }
+
+        void add(int doc, Addon addon, OnlineAddon listing, Instant now) {
+            if (addon.getAuthors() != null) {
+                addon.getAuthors().forEach(author -> addLabelled(FacetGroup.AUTHOR, author, doc));
+            }
+
+            if (listing == null || listing.getMetadata() == null) return;
+            AddonMetadata meta = listing.getMetadata();
+
+            if (meta.custom != null && meta.custom.tags != null) {
+                meta.custom.tags.forEach(tag -> addLabelled(FacetGroup.TAG, tag, doc));
+            }
+            addFlag(FacetGroup.VERIFIED, meta.verified, doc);
+            addFlag(FacetGroup.HUD, meta.features != null && meta.features.hud_elements != null
+                && !meta.features.hud_elements.isEmpty(), doc);
+
+            if (meta.repo == null) return;
+            addFlag(FacetGroup.ARCHIVED, meta.repo.archived, doc);
+            addFlag(FacetGroup.FORK, meta.repo.fork, doc);
+            for (int stars : STAR_THRESHOLDS) {
+                if (meta.repo.stars >= stars) add(FacetGroup.STARS, String.valueOf(stars), doc);
+            }
+
+            Instant updated = parseInstant(meta.repo.last_update);
+            if (updated == null) return;
+            long age = Duration.between(updated, now).toDays();
+            for (int days : UPDATED_WITHIN_DAYS) {
+                if (age < days) add(FacetGroup.UPDATED, String.valueOf(days), doc);
+            }
+        }
+
+        private void addLabelled(FacetGroup group, String label, int doc) {
+            String value = TextFolder.fold(label).trim();
+            if (value.isEmpty()) return;
+            labels.putIfAbsent(group + ":" + value, label.trim());
+            add(group, value, doc);
+        }
+
+        private void addFlag(FacetGroup group, boolean flag, int doc) {
+            add(group, flag ? YES : NO, doc);
+        }
+
+        void add(FacetGroup group, String value, int doc) {
+            values.get(group).computeIfAbsent(value, v -> new BitSet()).set(doc);
+        }
+
+        FacetIndex build(int size) {
+            for (FacetGroup group : List.of(FacetGroup.TAG, FacetGroup.AUTHOR)) {
+                List<Map.Entry<String, BitSet>> entries = new ArrayList<>(values.get(group).entrySet());
+                entries.sort(Comparator.comparingInt((Map.Entry<String, BitSet> e) -> -e.getValue().cardinality())
+                    .thenComparing(Map.Entry::getKey));
+
+                Map<String, BitSet> sorted = new LinkedHashMap<>();
+                entries.forEach(e -> sorted.put(e.getKey(), e.getValue()));
+                values.put(group, sorted);
+            }
+            for (FacetGroup group : List.of(FacetGroup.VERIFIED, FacetGroup.HUD, FacetGroup.ARCHIVED, FacetGroup.FORK)) {
+                Map<String, BitSet> flags = new LinkedHashMap<>();
+                flags.put(YES, values.get(group).getOrDefault(YES, new BitSet()));
+                flags.put(NO, values.get(group).getOrDefault(NO, new BitSet()));
+                values.put(group, flags);
+            }
+            return new FacetIndex(size, values, labels);
+        }
+
+        private static Instant parseInstant(String timestamp) {
+            if (timestamp == null || timestamp.isEmpty()) return null;
+            try {
+                return Instant.parse(timestamp);
+            } catch (DateTimeParseException e) {
+                return null;
+            }
+        }
+    }
+}
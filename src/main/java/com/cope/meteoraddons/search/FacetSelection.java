@@ -0,0 +1,91 @@
+package com.cope.meteoraddons.search;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Facet values selected by the user. Immutable; changes return a new selection.
+ */
+public final class FacetSelection {
+    public static final FacetSelection NONE = new FacetSelection(new EnumMap<>(FacetGroup.class));
+
+    private final Map<FacetGroup, Set<String>> selected;
+
+    private FacetSelection(Map<FacetGroup, Set<String>> selected) {
+        this.selected = selected;
+    }
+
+    public boolean isEmpty() {
+        return selected.isEmpty();
+    }
+
+    public Set<FacetGroup> getGroups() {
+        return Collections.unmodifiableSet(selected.keySet());
+    }
+
+    public Set<String> getValues(FacetGroup group) {
+        Set<String> values = selected.get(group);
+        return values != null ? Collections.unmodifiableSet(values) : Set.of();
+    }
+
+    public boolean isSelected(FacetGroup group, String value) {
+        return getValues(group).contains(value);
+    }
+
+    /**
+     * Select a value, or deselect it if already selected.
+     */
+    public FacetSelection toggle(FacetGroup group, String value) {
+        Map<FacetGroup, Set<String>> copy = copy();
+        Set<String> values = copy.computeIfAbsent(group, g -> new LinkedHashSet<>());
+        if (!values.remove(value)) values.add(value);
+        if (values.isEmpty()) copy.remove(group);
+        return new FacetSelection(copy);
+    }
+
+    /**
+     * Select only this value in its group, or clear the group if it already was.
+     */
+    public FacetSelection toggleOnly(FacetGroup group, String value) {
+        if (getValues(group).equals(Set.of(value))) return without(group);
+        return only(group, value);
+    }
+
+    /**
+     * Select only this value in its group.
+     */
+    public FacetSelection only(FacetGroup group, String value) {
+        return without(group).toggle(group, value);
+    }
+
+    public FacetSelection without(FacetGroup group) {
+        if (!selected.containsKey(group)) return this;
+        Map<FacetGroup, Set<String>> copy = copy();
+        copy.remove(group);
+        return new FacetSelection(copy);
+    }
+
+    private Map<FacetGroup, Set<String>> copy() {
+        Map<FacetGroup, Set<String>> copy = new EnumMap<>(FacetGroup.class);
+        selected.forEach((group, values) -> copy.put(group, new LinkedHashSet<>(values)));
+        return copy;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof FacetSelection other && selected.equals(other.selected);
+    }
+
+    @Override
+    public int hashCode() {
+        return selected.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return selected.toString();
+    }
+}
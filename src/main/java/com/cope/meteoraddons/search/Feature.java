@@ -0,0 +1,51 @@
+package com.cope.meteoraddons.search;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A module, command or HUD element listed in an addon's catalog metadata.
+ * Immutable.
+ */
+public final class Feature {
+    private final SearchField kind;
+    private final String name;
+    private final String description;
+
+    Feature(SearchField kind, String name, String description) {
+        this.kind = kind;
+        this.name = name;
+        this.description = description;
+    }
+
+    /**
+     * MODULE, COMMAND or HUD.
+     */
+    public SearchField getKind() {
+        return kind;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Optional<String> getDescription() {
+        return Optional.ofNullable(description).filter(d -> !d.isBlank());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Feature other && kind == other.kind
+            && name.equals(other.name) && Objects.equals(description, other.description);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, name, description);
+    }
+
+    @Override
+    public String toString() {
+        return kind + " " + name;
+    }
+}
@@ -0,0 +1,144 @@
+package com.cope.meteoraddons.search;
+
+import com.cope.meteoraddons.addons.OnlineAddon;
+import com.cope.meteoraddons.models.AddonMetadata;
+import com.cope.meteoraddons.models.AddonMetadata.FeatureItem;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every module, command and HUD element of a catalog snapshot as its own
+ * SearchDocument of name and description, each mapped back to the addon
+ * document it belongs to. Built with its SearchIndex on the same
+ * DocumentIndex machinery, so a feature query costs what an addon query does.
+ * Features are numbered in addon order, so an addon's features are adjacent.
+ * Immutable and thread-safe once built.
+ */
+final class FeatureIndex {
+    private final Feature[] features;
+    private final int[] owners;
+    private final DocumentIndex documents;
+
+    private FeatureIndex(Feature[] features, int[] owners, DocumentIndex documents) {
+        this.features = features;
+        this.owners = owners;
+        this.documents = documents;
+    }
+
+    /**
+     * @param listings Catalog entry of each addon document, or null
+     */
+    static FeatureIndex build(List<OnlineAddon> listings) {
+        List<Feature> features = new ArrayList<>();
+        List<Integer> owners = new ArrayList<>();
+        for (int doc = 0; doc < listings.size(); doc++) {
+            OnlineAddon listing = listings.get(doc);
+            if (listing == null || listing.getMetadata() == null) continue;
+
+            AddonMetadata.Features meta = listing.getMetadata().features;
+            if (meta == null) continue;
+            addAll(features, owners, doc, SearchField.MODULE, meta.modules);
+            addAll(features, owners, doc, SearchField.COMMAND, meta.commands);
+            addAll(features, owners, doc, SearchField.HUD, meta.hud_elements);
+        }
+
+        SearchDocument[] docs = new SearchDocument[features.size()];
+        for (int feature = 0; feature < docs.length; feature++) {
+            docs[feature] = SearchDocument.of(features.get(feature));
+        }
+        return new FeatureIndex(features.toArray(Feature[]::new),
+            owners.stream().mapToInt(Integer::intValue).toArray(), DocumentIndex.build(docs));
+    }
+
+    private static void addAll(List<Feature> features, List<Integer> owners, int owner,
+                               SearchField kind, List<FeatureItem> items) {
+        if (items == null) return;
+        for (FeatureItem item : items) {
+            if (item == null || item.name == null || item.name.isBlank()) continue;
+            features.add(new Feature(kind, item.name, item.description));
+            owners.add(owner);
+        }
+    }
+
+    void write(IndexCodec.Writer out) throws IOException {
+        out.writeInt(features.length);
+        for (Feature feature : features) {
+            out.writeInt(feature.getKind().ordinal());
+            out.writeString(feature.getName());
+            out.writeString(feature.getDescription().orElse(null));
+        }
+        out.writeInts(owners);
+        documents.write(out);
+    }
+
+    /**
+     * @param addonCount Number of addon documents the owners refer to
+     */
+    static FeatureIndex read(IndexCodec.Reader in, int addonCount) throws IOException {
+        SearchField[] kinds = SearchField.values();
+        Feature[] features = new Feature[in.readCount()];
+        for (int feature = 0; feature < features.length; feature++) {
+            int kind = in.readInt();
+            String name = in.readString();
+            if (kind < 0 || kind >= kinds.length || name == null) throw new IOException("Bad feature");
+            features[feature] = new Feature(kinds[kind], name, in.readString());
+        }
+
+        int[] owners = in.readInts();
+        for (int owner : owners) {
+            if (owner < 0 || owner >= addonCount) throw new IOException("Bad feature owner");
+        }
+        DocumentIndex documents = DocumentIndex.read(in);
+        if (owners.length != features.length || documents.size() != features.length) {
+            throw new IOException("Feature index does not match its features");
+        }
+        return new FeatureIndex(features, owners, documents);
+    }
+
+    /**
+     * Ids of the features matching a normalized query by words, best first.
+     */
+    int[] rank(String q) {
+        return q.isEmpty() ? new int[0] : documents.rank(q);
+    }
+
+    /**
+     * Addon documents owning any of the ranked features, ordered by their best one.
+     */
+    int[] owners(int[] ranked) {
+        BitSet seen = new BitSet();
+        int[] out = new int[ranked.length];
+        int n = 0;
+        for (int feature : ranked) {
+            int owner = owners[feature];
+            if (!seen.get(owner)) {
+                seen.set(owner);
+                out[n++] = owner;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    /**
+     * Ranked features grouped by owner, keeping only owners among ids.
+     * Groups follow the order of ids, features within a group stay best first.
+     */
+    Map<Integer, List<Feature>> group(int[] ranked, int[] ids) {
+        Map<Integer, List<Feature>> byOwner = new LinkedHashMap<>();
+        for (int doc : ids) {
+            byOwner.put(doc, new ArrayList<>());
+        }
+        for (int feature : ranked) {
+            List<Feature> group = byOwner.get(owners[feature]);
+            if (group != null) group.add(features[feature]);
+        }
+        byOwner.values().removeIf(List::isEmpty);
+        return byOwner;
+    }
+}
@@ -0,0 +1,144 @@
+package com.cope.meteoraddons.search;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary encoding of the structures saved by SearchIndexStore. Values are
+ * big-endian; arrays and strings are prefixed by their length, strings are
+ * UTF-8 and a null string has length -1. Arrays are read with bulk views of
+ * the buffer, so decoding a mapped file copies memory rather than parsing it.
+ */
+final class IndexCodec {
+    private IndexCodec() {
+    }
+
+    static final class Writer {
+        private final DataOutputStream out;
+
+        Writer(OutputStream out) {
+            this.out = new DataOutputStream(out);
+        }
+
+        void writeInt(int value) throws IOException {
+            out.writeInt(value);
+        }
+
+        void writeLong(long value) throws IOException {
+            out.writeLong(value);
+        }
+
+        void writeString(String value) throws IOException {
+            if (value == null) {
+                out.writeInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        void writeInts(int[] values) throws IOException {
+            out.writeInt(values.length);
+            for (int value : values) {
+                out.writeInt(value);
+            }
+        }
+
+        void writeFloats(float[] values) throws IOException {
+            out.writeInt(values.length);
+            for (float value : values) {
+                out.writeFloat(value);
+            }
+        }
+
+        void writeBytes(byte[] values) throws IOException {
+            out.writeInt(values.length);
+            out.write(values);
+        }
+
+        void flush() throws IOException {
+            out.flush();
+        }
+    }
+
+    /**
+     * Reads from a buffer positioned at the data. Truncated or damaged data
+     * fails with an IOException or a BufferUnderflowException.
+     */
+    static final class Reader {
+        private final ByteBuffer buffer;
+
+        Reader(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        int readInt() {
+            return buffer.getInt();
+        }
+
+        long readLong() {
+            return buffer.getLong();
+        }
+
+        String readString() throws IOException {
+            int length = buffer.getInt();
+            if (length == -1) return null;
+            byte[] bytes = new byte[checkLength(length, 1)];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        int[] readInts() throws IOException {
+            int[] values = new int[checkLength(buffer.getInt(), Integer.BYTES)];
+            buffer.asIntBuffer().get(values);
+            buffer.position(buffer.position() + values.length * Integer.BYTES);
+            return values;
+        }
+
+        float[] readFloats() throws IOException {
+            float[] values = new float[checkLength(buffer.getInt(), Float.BYTES)];
+            buffer.asFloatBuffer().get(values);
+            buffer.position(buffer.position() + values.length * Float.BYTES);
+            return values;
+        }
+
+        /**
+         * Strictly ascending ids below bound, as every posting list is written.
+         * Intersections rely on the order, so damaged lists are rejected here.
+         */
+        int[] readIds(int bound) throws IOException {
+            int[] ids = readInts();
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] < 0 || ids[i] >= bound || (i > 0 && ids[i] <= ids[i - 1])) {
+                    throw new IOException("Bad id list");
+                }
+            }
+            return ids;
+        }
+
+        byte[] readBytes() throws IOException {
+            byte[] values = new byte[checkLength(buffer.getInt(), 1)];
+            buffer.get(values);
+            return values;
+        }
+
+        /**
+         * Length prefix of a sequence, checked against the bytes left so a
+         * damaged prefix cannot allocate an oversized array.
+         */
+        int readCount() throws IOException {
+            return checkLength(buffer.getInt(), 1);
+        }
+
+        private int checkLength(int length, int elementBytes) throws IOException {
+            if (length < 0 || (long) length * elementBytes > buffer.remaining()) {
+                throw new IOException("Bad length " + length);
+            }
+            return length;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.cope.meteoraddons.search;
+
+import com.cope.meteoraddons.config.SearchConfig;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least recently used cache of result id arrays, shared by all search boxes so
+ * that repeating a search, or returning to a screen, costs a lookup. Keys carry
+ * the version of the index snapshot the ids belong to; once a newer snapshot
+ * is seen, entries of older ones are dropped and never stored again.
+ * Thread-safe.
+ */
+public class SearchCache {
+    private static final SearchCache INSTANCE = new SearchCache(SearchConfig.RESULT_CACHE_ENTRIES);
+
+    private final int maxEntries;
+    private final Map<Key, int[]> entries;
+    private long latestVersion;
+
+    SearchCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, int[]> eldest) {
+                return size() > SearchCache.this.maxEntries;
+            }
+        };
+    }
+
+    public static SearchCache get() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return the cached ids, or null; callers must not modify them
+     */
+    public synchronized int[] get(Key key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(Key key, int[] ids) {
+        if (key.version() < latestVersion) return;
+        if (key.version() > latestVersion) {
+            latestVersion = key.version();
+            entries.keySet().removeIf(cached -> cached.version() < latestVersion);
+        }
+        entries.put(key, ids);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * @param query Query folded by SearchIndex.normalize
+     * @param facets Selection applied to the matches, NONE for the matches themselves
+     */
+    public record Key(long version, String query, SearchMode mode, FacetSelection facets) {
+        public static Key of(SearchIndex index, String query, SearchMode mode, FacetSelection facets) {
+            return new Key(index.getVersion(), query, mode, facets);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.cope.meteoraddons.search;
+
+import com.cope.meteoraddons.addons.Addon;
+import com.cope.meteoraddons.addons.OnlineAddon;
+import com.cope.meteoraddons.models.AddonMetadata;
+import com.cope.meteoraddons.models.AddonMetadata.FeatureItem;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Searchable text of one addon, folded once (TextFolder) when the catalog
+ * snapshot is indexed. All fields are joined into one string separated by
+ * SEPARATOR, which folded text never contains, so a folded query is matched
+ * with a single indexOf that cannot cross a field boundary and allocates nothing.
+ * Field start offsets and kinds are kept to tell which field a match is in.
+ * Immutable.
+ */
+public final class SearchDocument {
+    public static final char SEPARATOR = '\0';
+
+    private final String text;
+    private final int[] starts;
+    private final SearchField[] kinds;
+
+    private SearchDocument(String text, int[] starts, SearchField[] kinds) {
+        this.text = text;
+        this.starts = starts;
+        this.kinds = kinds;
+    }
+
+    /**
+     * Collect and fold an addon's searchable fields: name, description,
+     * authors, and for catalog addons module, command and HUD element names,
+     * custom screens and tags.
+     */
+    public static SearchDocument of(Addon addon) {
+        return of(addon, addon instanceof OnlineAddon online ? online : null);
+    }
+
+    /**
+     * Like of(Addon), taking the catalog fields from a listing. Installed
+     * addons pass their catalog entry, if any, and also get their mod id indexed.
+     *
+     * @param listing Catalog entry of the addon, or null
+     */
+    public static SearchDocument of(Addon addon, OnlineAddon listing) {
+        Builder builder = new Builder();
+        builder.add(SearchField.NAME, addon.getName());
+        // Catalog ids are derived from the name
+        if (!(addon instanceof OnlineAddon)) builder.add(SearchField.ID, addon.getId());
+        addon.getDescription().ifPresent(description -> builder.add(SearchField.DESCRIPTION, description));
+        if (addon.getAuthors() != null) addon.getAuthors().forEach(author -> builder.add(SearchField.AUTHOR, author));
+
+        if (listing != null && listing.getMetadata() != null) {
+            AddonMetadata meta = listing.getMetadata();
+            if (meta.features != null) {
+                builder.addFeatures(SearchField.MODULE, meta.features.modules);
+                builder.addFeatures(SearchField.COMMAND, meta.features.commands);
+                builder.addFeatures(SearchField.HUD, meta.features.hud_elements);
+                if (meta.features.custom_screens != null) {
+                    meta.features.custom_screens.forEach(screen -> builder.add(SearchField.SCREEN, screen));
+                }
+            }
+            if (meta.custom != null && meta.custom.tags != null) {
+                meta.custom.tags.forEach(tag -> builder.add(SearchField.TAG, tag));
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * A single feature's name and description, for FeatureIndex.
+     */
+    static SearchDocument of(Feature feature) {
+        Builder builder = new Builder();
+        builder.addName(feature.getKind(), feature.getName());
+        feature.getDescription().ifPresent(description -> builder.add(SearchField.DESCRIPTION, description));
+        return builder.build();
+    }
+
+    /**
+     * @param foldedQuery A query already passed through TextFolder.fold
+     */
+    public boolean contains(String foldedQuery) {
+        return text.indexOf(foldedQuery) >= 0;
+    }
+
+    /**
+     * Folded fields joined by SEPARATOR.
+     */
+    public String getText() {
+        return text;
+    }
+
+    public int getFieldCount() {
+        return starts.length;
+    }
+
+    public SearchField getFieldKind(int field) {
+        return kinds[field];
+    }
+
+    public int getFieldStart(int field) {
+        return starts[field];
+    }
+
+    /**
+     * End offset of a field, exclusive.
+     */
+    public int getFieldEnd(int field) {
+        return field + 1 < starts.length ? starts[field + 1] - 1 : text.length();
+    }
+
+    public String getField(int field) {
+        return text.substring(getFieldStart(field), getFieldEnd(field));
+    }
+
+    /**
+     * Index of the field containing a text offset.
+     */
+    public int fieldAt(int offset) {
+        int i = Arrays.binarySearch(starts, offset);
+        return i >= 0 ? i : -i - 2;
+    }
+
+    void write(IndexCodec.Writer out) throws IOException {
+        out.writeString(text);
+        out.writeInts(starts);
+        byte[] ordinals = new byte[kinds.length];
+        for (int field = 0; field < kinds.length; field++) {
+            ordinals[field] = (byte) kinds[field].ordinal();
+        }
+        out.writeBytes(ordinals);
+    }
+
+    static SearchDocument read(IndexCodec.Reader in) throws IOException {
+        String text = in.readString();
+        int[] starts = in.readInts();
+        byte[] ordinals = in.readBytes();
+        if (text == null || ordinals.length != starts.length) throw new IOException("Bad document");
+        for (int field = 0; field < starts.length; field++) {
+            int previous = field == 0 ? -1 : starts[field - 1];
+            if (starts[field] <= previous || starts[field] > text.length()) throw new IOException("Bad field start");
+        }
+
+        SearchField[] all = SearchField.values();
+        SearchField[] kinds = new SearchField[ordinals.length];
+        for (int field = 0; field < kinds.length; field++) {
+            if (ordinals[field] < 0 || ordinals[field] >= all.length) throw new IOException("Bad field kind");
+            kinds[field] = all[ordinals[field]];
+        }
+        return new SearchDocument(text, starts, kinds);
+    }
+
+    private static class Builder {
+        private final StringBuilder text = new StringBuilder();
+        private final List<Integer> starts = new ArrayList<>();
+        private final List<SearchField> kinds = new ArrayList<>();
+
+        void add(SearchField kind, String value) {
+            String folded = TextFolder.fold(value);
+            if (folded.isEmpty()) return;
+
+            if (!starts.isEmpty()) text.append(SEPARATOR);
+            starts.add(text.length());
+            kinds.add(kind);
+            text.append(folded);
+        }
+
+        void addFeatures(SearchField kind, List<FeatureItem> items) {
+            if (items == null) return;
+            for (FeatureItem item : items) {
+                if (item != null) addName(kind, item.name);
+            }
+        }
+
+        /**
+         * Add an identifier, and its camel case words as a second field of
+         * the same kind, so "auto totem" finds "AutoTotem".
+         */
+        void addName(SearchField kind, String name) {
+            add(kind, name);
+            String split = TextFolder.splitCamelCase(name);
+            if (!split.equals(name)) add(kind, split);
+        }
+
+        SearchDocument build() {
+            return new SearchDocument(text.toString(),
+                starts.stream().mapToInt(Integer::intValue).toArray(),
+                kinds.toArray(SearchField[]::new));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.cope.meteoraddons.search;
+
+/**
+ * Kinds of searchable text in a SearchDocument, with the weight a term found
+ * in each kind carries in ranked search.
+ */
+public enum SearchField {
+    NAME(4.0f),
+    ID(3.0f),
+    DESCRIPTION(1.0f),
+    AUTHOR(1.5f),
+    MODULE(2.5f),
+    COMMAND(2.0f),
+    HUD(2.0f),
+    SCREEN(1.5f),
+    TAG(2.0f);
+
+    private final float weight;
+
+    SearchField(float weight) {
+        this.weight = weight;
+    }
+
+    public float getWeight() {
+        return weight;
+    }
+}
@@ -0,0 +1,233 @@
+package com.cope.meteoraddons.search;
+
+import com.cope.meteoraddons.addons.Addon;
+import com.cope.meteoraddons.addons.OnlineAddon;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Search over the SearchDocuments of one catalog snapshot, built once when
+ * the snapshot is published: a DocumentIndex for substring and ranked
+ * queries, a FacetIndex for facet filters, a FeatureIndex for queries
+ * over individual modules, commands and HUD elements and a CompletionTrie
+ * for suggestions.
+ * Immutable and thread-safe once built.
+ */
+public class SearchIndex {
+    // Declared before EMPTY, whose construction takes a version
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    public static final SearchIndex EMPTY = build(List.of());
+
+    private final List<Addon> addons;
+    private final DocumentIndex documents;
+    private final FacetIndex facets;
+    private final FeatureIndex features;
+    private final CompletionTrie completions;
+    private final long version = VERSIONS.incrementAndGet();
+
+    private SearchIndex(List<Addon> addons, DocumentIndex documents, FacetIndex facets, FeatureIndex features,
+                        CompletionTrie completions) {
+        this.addons = addons;
+        this.documents = documents;
+        this.facets = facets;
+        this.features = features;
+        this.completions = completions;
+    }
+
+    /**
+     * Index a catalog snapshot. Result order follows the order of the given list.
+     */
+    public static SearchIndex build(List<? extends Addon> addons) {
+        return build(List.of(), addons);
+    }
+
+    /**
+     * Index installed addons and a catalog snapshot together; FacetGroup.SCOPE
+     * tells them apart. Installed addons are indexed with the catalog fields of
+     * the catalog entry of the same name. Result order is installed addons,
+     * then the catalog, each in the order given.
+     */
+    public static SearchIndex build(List<? extends Addon> installed, List<? extends Addon> online) {
+        List<Addon> docs = concat(installed, online);
+        List<OnlineAddon> listings = listings(docs, installed.size(), online);
+
+        SearchDocument[] documents = new SearchDocument[docs.size()];
+        for (int doc = 0; doc < docs.size(); doc++) {
+            documents[doc] = SearchDocument.of(docs.get(doc), listings.get(doc));
+        }
+        return new SearchIndex(docs, DocumentIndex.build(documents),
+            FacetIndex.build(docs, listings, installed.size(), Instant.now()), FeatureIndex.build(listings),
+            CompletionTrie.build(online));
+    }
+
+    /**
+     * Read the document and feature indexes written by write() for the same
+     * addons. Facets are built again, since UPDATED depends on the current
+     * time, and so are completions, which take one pass over the names.
+     */
+    static SearchIndex read(IndexCodec.Reader in, List<? extends Addon> installed, List<? extends Addon> online)
+            throws IOException {
+        List<Addon> docs = concat(installed, online);
+        List<OnlineAddon> listings = listings(docs, installed.size(), online);
+
+        DocumentIndex documents = DocumentIndex.read(in);
+        if (documents.size() != docs.size()) throw new IOException("Index does not match the addons");
+        FeatureIndex features = FeatureIndex.read(in, docs.size());
+        return new SearchIndex(docs, documents,
+            FacetIndex.build(docs, listings, installed.size(), Instant.now()), features,
+            CompletionTrie.build(online));
+    }
+
+    void write(IndexCodec.Writer out) throws IOException {
+        documents.write(out);
+        features.write(out);
+    }
+
+    private static List<Addon> concat(List<? extends Addon> installed, List<? extends Addon> online) {
+        List<Addon> docs = new ArrayList<>(installed.size() + online.size());
+        docs.addAll(installed);
+        docs.addAll(online);
+        return List.copyOf(docs);
+    }
+
+    /**
+     * Catalog entry of each document: itself for catalog addons, the entry of
+     * the same name for installed ones.
+     */
+    private static List<OnlineAddon> listings(List<Addon> docs, int installedCount, List<? extends Addon> online) {
+        Map<String, OnlineAddon> listingsByName = new HashMap<>();
+        for (Addon addon : online) {
+            if (addon instanceof OnlineAddon listing) listingsByName.putIfAbsent(addon.getName(), listing);
+        }
+        List<OnlineAddon> listings = new ArrayList<>(docs.size());
+        for (int doc = 0; doc < docs.size(); doc++) {
+            Addon addon = docs.get(doc);
+            listings.add(doc < installedCount ? listingsByName.get(addon.getName())
+                : addon instanceof OnlineAddon listing ? listing : null);
+        }
+        return listings;
+    }
+
+    /**
+     * Addons with any field containing the query, ignoring case, accents and width.
+     *
+     * @return matches in catalog order; every addon for an empty query
+     */
+    public List<Addon> search(String query) {
+        return search(query, SearchMode.SUBSTRING);
+    }
+
+    /**
+     * @return matches in catalog order for SUBSTRING, best first for RANKED,
+     * by best matching feature for FEATURES; every addon in catalog order for an empty query
+     */
+    public List<Addon> search(String query, SearchMode mode) {
+        return resolve(find(normalize(query), mode));
+    }
+
+    /**
+     * Matches of a query that also pass a facet selection, with facet counts.
+     */
+    public SearchResult search(String query, SearchMode mode, FacetSelection selection) {
+        String q = normalize(query);
+        int[] matched = find(q, mode);
+        return result(q, mode, matched, facets.filter(matched, selection), selection);
+    }
+
+    /**
+     * Catalog addon, module, command, author and tag names with a word
+     * starting with the typed text, most popular first.
+     */
+    public List<Suggestion> suggest(String text, int limit) {
+        return completions.suggest(text, limit);
+    }
+
+    public int size() {
+        return addons.size();
+    }
+
+    public FacetIndex getFacets() {
+        return facets;
+    }
+
+    /**
+     * Identifies this snapshot; a later build always has a higher version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Fold a query the same way the indexed fields were.
+     */
+    static String normalize(String query) {
+        return TextFolder.fold(query);
+    }
+
+    SearchDocument document(int doc) {
+        return documents.document(doc);
+    }
+
+    int[] find(String q, SearchMode mode) {
+        if (q.isEmpty()) return documents.all();
+        return switch (mode) {
+            case SUBSTRING -> documents.find(q);
+            case RANKED -> documents.rank(q);
+            case FEATURES -> features.owners(features.rank(q));
+        };
+    }
+
+    /**
+     * Ids of the documents matching a normalized query, ascending.
+     */
+    int[] find(String q) {
+        return documents.find(q);
+    }
+
+    /**
+     * Keep the documents among ids that contain a normalized query.
+     */
+    int[] refine(int[] ids, String q) {
+        return documents.refine(ids, q);
+    }
+
+    /**
+     * Ids of the documents matching a normalized query by words, best first.
+     */
+    int[] rank(String q) {
+        return documents.rank(q);
+    }
+
+    /**
+     * @param q The normalized query matched and filtered come from
+     * @param matched Matches of the query
+     * @param filtered The matches passing the selection
+     */
+    SearchResult result(String q, SearchMode mode, int[] matched, int[] filtered, FacetSelection selection) {
+        Map<Addon, List<Feature>> matches = new LinkedHashMap<>();
+        // Ranks the features again rather than caching them with the ids; one
+        // feature query is as cheap as the addon query the ids came from
+        if (mode == SearchMode.FEATURES && !q.isEmpty()) {
+            features.group(features.rank(q), filtered).forEach((doc, list) -> matches.put(addons.get(doc), list));
+        }
+        return new SearchResult(resolve(filtered), matches, facets, facets.count(matched, selection));
+    }
+
+    List<Addon> resolve(int[] ids) {
+        if (ids == documents.all()) return addons;
+
+        List<Addon> results = new ArrayList<>(ids.length);
+        for (int doc : ids) {
+            results.add(addons.get(doc));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,138 @@
+package com.cope.meteoraddons.search;
+
+import com.cope.meteoraddons.addons.Addon;
+import com.cope.meteoraddons.util.HashUtil;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * On-disk copy of the last SearchIndex, so a launch that fetches an unchanged
+ * catalog maps the file instead of building the trigram, term and feature
+ * indexes again. The file is tagged with FORMAT_VERSION and the content hash
+ * of the catalog and installed addons it was built from; a different hash or
+ * version misses, and a damaged file is deleted. The body is checked against
+ * a CRC32 before anything is decoded, so a flipped byte cannot turn into a
+ * looping tree or an unsorted posting list.
+ * File layout: int magic, int format version, content hash, int document
+ * count, long CRC32 of the body, then the body: the indexes as written by
+ * SearchIndex.write (IndexCodec).
+ */
+public class SearchIndexStore {
+    static final int MAGIC = 0x4D415349;
+    /**
+     * Bump whenever the layout, SearchField, TextFolder or the tokenization changes.
+     */
+    static final int FORMAT_VERSION = 2;
+    private static final int MAX_HEADER_BYTES = 256;
+
+    private final Path file;
+
+    public SearchIndexStore(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Hash identifying the search input: the catalog as fetched and the
+     * installed addons indexed with it.
+     *
+     * @param catalog Serialized catalog entries, in the order they are indexed
+     */
+    public static String contentHash(String catalog, List<? extends Addon> installed) {
+        StringBuilder key = new StringBuilder(catalog);
+        for (Addon addon : installed) {
+            key.append('\n').append(addon.getName())
+                .append('\0').append(addon.getId())
+                .append('\0').append(addon.getVersion())
+                .append('\0').append(addon.getDescription().orElse(""))
+                .append('\0').append(addon.getAuthors());
+        }
+        return HashUtil.computeSha256(key.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Map the saved index, if it was built from the same content (worker thread).
+     *
+     * @param installed The installed addons the index was built with
+     * @param online The catalog addons the index was built with
+     * @return the index, or empty if there is none for this hash or the file is damaged
+     */
+    public Optional<SearchIndex> load(String contentHash, List<? extends Addon> installed, List<? extends Addon> online) {
+        if (!Files.isRegularFile(file)) return Optional.empty();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // Check the header with a plain read: a mapping is only released by
+            // the garbage collector, and Windows cannot replace a mapped file
+            ByteBuffer header = ByteBuffer.allocate((int) Math.min(channel.size(), MAX_HEADER_BYTES));
+            readFully(channel, header);
+            IndexCodec.Reader in = new IndexCodec.Reader(header.flip());
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) return Optional.empty();
+            if (!contentHash.equals(in.readString())) return Optional.empty();
+            if (in.readInt() != installed.size() + online.size()) return Optional.empty();
+            long checksum = in.readLong();
+
+            long start = header.position();
+            MappedByteBuffer body = channel.map(FileChannel.MapMode.READ_ONLY, start, channel.size() - start);
+            CRC32 crc = new CRC32();
+            crc.update(body.duplicate());
+            if (crc.getValue() != checksum) throw new IOException("Search index checksum mismatch");
+            return Optional.of(SearchIndex.read(new IndexCodec.Reader(body), installed, online));
+        } catch (IOException | RuntimeException e) {
+            // Truncated or corrupted; the next store() writes a fresh file
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+            }
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Save an index under a content hash, replacing any previous file (worker thread).
+     */
+    public void store(String contentHash, SearchIndex index) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        // The header carries the body's checksum, so the body is encoded first
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        IndexCodec.Writer bodyOut = new IndexCodec.Writer(buffer);
+        index.write(bodyOut);
+        bodyOut.flush();
+        byte[] body = buffer.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(body);
+
+        try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(temp))) {
+            IndexCodec.Writer out = new IndexCodec.Writer(stream);
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeString(contentHash);
+            out.writeInt(index.size());
+            out.writeLong(crc.getValue());
+            out.flush();
+            stream.write(body);
+        }
+
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) throw new IOException("Unexpected end of file");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.cope.meteoraddons.search;
+
+/**
+ * How a query is matched and ordered.
+ */
+public enum SearchMode {
+    /**
+     * Exact substring of any field, in catalog order.
+     */
+    SUBSTRING,
+    /**
+     * Every query word in some field, allowing typos and a partial last word,
+     * best matches first.
+     */
+    RANKED,
+    /**
+     * Like RANKED, but every query word in one module, command or HUD element's
+     * name or description; addons ordered by their best matching feature, with
+     * the matching features listed by SearchResult.
+     */
+    FEATURES
+}
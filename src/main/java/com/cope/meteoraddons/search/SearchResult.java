@@ -0,0 +1,56 @@
+package com.cope.meteoraddons.search;
+
+import com.cope.meteoraddons.addons.Addon;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Addons matching a query and facet selection, with the facet counts over
+ * the query's matches and, for SearchMode.FEATURES, the features that
+ * matched in each addon. Immutable.
+ */
+public final class SearchResult {
+    private final List<Addon> addons;
+    private final Map<Addon, List<Feature>> features;
+    private final FacetIndex facets;
+    private final Map<FacetGroup, Map<String, Integer>> counts;
+
+    SearchResult(List<Addon> addons, Map<Addon, List<Feature>> features, FacetIndex facets,
+                 Map<FacetGroup, Map<String, Integer>> counts) {
+        this.addons = addons;
+        this.features = features;
+        this.facets = facets;
+        this.counts = counts;
+    }
+
+    public List<Addon> getAddons() {
+        return addons;
+    }
+
+    /**
+     * Matching features per addon, best first; empty unless searched with
+     * SearchMode.FEATURES and a query.
+     */
+    public Map<Addon, List<Feature>> getFeatures() {
+        return features;
+    }
+
+    public List<Feature> getFeatures(Addon addon) {
+        return features.getOrDefault(addon, List.of());
+    }
+
+    /**
+     * Facets of the index the result came from, for value lists and labels.
+     */
+    public FacetIndex getFacets() {
+        return facets;
+    }
+
+    /**
+     * Results selecting this value would give, given the other selected groups.
+     */
+    public int getCount(FacetGroup group, String value) {
+        return counts.get(group).getOrDefault(value, 0);
+    }
+}
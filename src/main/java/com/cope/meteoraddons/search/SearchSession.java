@@ -0,0 +1,96 @@
+package com.cope.meteoraddons.search;
+
+import com.cope.meteoraddons.addons.Addon;
+import com.cope.meteoraddons.search.SearchCache.Key;
+
+import java.util.List;
+
+/**
+ * Search state of one search box while the user types. Results are kept in
+ * the shared SearchCache per query and per query and facet selection; a
+ * query extending a cached one only re-checks that query's matches, since
+ * text containing the longer query also contains the shorter one, and
+ * backspacing or repeating a search returns cached ids without any work.
+ * Ranked and feature queries are cached too, but typo matching does not
+ * narrow as a query grows, so they are always run against the whole index.
+ * Bound to one index snapshot; start a new session when the index changes.
+ * Not thread-safe: use from one thread at a time.
+ */
+public class SearchSession {
+    private final SearchIndex index;
+    private final SearchCache cache;
+    private int refinements;
+
+    public SearchSession(SearchIndex index) {
+        this(index, SearchCache.get());
+    }
+
+    SearchSession(SearchIndex index, SearchCache cache) {
+        this.index = index;
+        this.cache = cache;
+    }
+
+    public SearchIndex getIndex() {
+        return index;
+    }
+
+    public List<Addon> search(String query) {
+        return search(query, SearchMode.SUBSTRING);
+    }
+
+    /**
+     * Same results as SearchIndex.search, reusing earlier results.
+     */
+    public List<Addon> search(String query, SearchMode mode) {
+        return index.resolve(find(SearchIndex.normalize(query), mode));
+    }
+
+    /**
+     * Same results as SearchIndex.search with facets. Facets are applied to the
+     * cached query results, so changing them never searches again.
+     */
+    public SearchResult search(String query, SearchMode mode, FacetSelection selection) {
+        String q = SearchIndex.normalize(query);
+        int[] matched = find(q, mode);
+        if (selection.isEmpty()) return index.result(q, mode, matched, matched, selection);
+
+        Key key = Key.of(index, q, mode, selection);
+        int[] filtered = cache.get(key);
+        if (filtered == null) {
+            filtered = index.getFacets().filter(matched, selection);
+            cache.put(key, filtered);
+        }
+        return index.result(q, mode, matched, filtered, selection);
+    }
+
+    private int[] find(String q, SearchMode mode) {
+        Key key = Key.of(index, q, mode, FacetSelection.NONE);
+        int[] ids = cache.get(key);
+        if (ids == null) {
+            int[] prefix = mode == SearchMode.SUBSTRING ? longestCachedPrefix(q) : null;
+            if (prefix != null) {
+                ids = index.refine(prefix, q);
+                refinements++;
+            } else {
+                ids = index.find(q, mode);
+            }
+            cache.put(key, ids);
+        }
+        return ids;
+    }
+
+    /**
+     * Queries answered by narrowing a cached prefix's results.
+     */
+    int getRefinementCount() {
+        return refinements;
+    }
+
+    private int[] longestCachedPrefix(String q) {
+        for (int length = q.length() - 1; length > 0; length--) {
+            int[] ids = cache.get(Key.of(index, q.substring(0, length), SearchMode.SUBSTRING, FacetSelection.NONE));
+            if (ids != null) return ids;
+        }
+        return null;
+    }
+}
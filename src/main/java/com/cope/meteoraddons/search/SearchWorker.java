@@ -0,0 +1,99 @@
+package com.cope.meteoraddons.search;
+
+import com.cope.meteoraddons.config.SearchConfig;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Runs the searches of one search box off the render thread.
+ * Each request bumps a generation counter and replaces the pending one;
+ * requests only run after a quiet debounce window, and a result is delivered
+ * through the result executor only if no newer request arrived meanwhile,
+ * checked again right before it is applied. Searches of all workers share one
+ * thread, which also confines each worker's SearchSession to it.
+ * Thread-safe.
+ */
+public class SearchWorker {
+    private static final ScheduledExecutorService SEARCH_THREAD = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "MeteorAddons-Search");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ScheduledExecutorService scheduler;
+    private final Executor results;
+    private final long debounceMillis;
+    private final AtomicLong generation = new AtomicLong();
+    private ScheduledFuture<?> pending;
+    private SearchSession session;
+
+    /**
+     * @param results Where results are delivered, normally the render thread
+     */
+    public SearchWorker(Executor results) {
+        this(SEARCH_THREAD, results, SearchConfig.DEBOUNCE_MS);
+    }
+
+    SearchWorker(ScheduledExecutorService scheduler, Executor results, long debounceMillis) {
+        this.scheduler = scheduler;
+        this.results = results;
+        this.debounceMillis = debounceMillis;
+    }
+
+    /**
+     * Search once typing pauses, replacing any pending search.
+     */
+    public void search(SearchIndex index, String query, SearchMode mode, FacetSelection selection,
+                       Consumer<SearchResult> onResult) {
+        schedule(index, query, mode, selection, onResult, debounceMillis);
+    }
+
+    /**
+     * Search without waiting for typing to pause, replacing any pending search.
+     */
+    public void searchNow(SearchIndex index, String query, SearchMode mode, FacetSelection selection,
+                          Consumer<SearchResult> onResult) {
+        schedule(index, query, mode, selection, onResult, 0);
+    }
+
+    /**
+     * Drop the pending search and any result not yet applied.
+     */
+    public synchronized void cancel() {
+        generation.incrementAndGet();
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+    }
+
+    private synchronized void schedule(SearchIndex index, String query, SearchMode mode, FacetSelection selection,
+                                       Consumer<SearchResult> onResult, long delayMillis) {
+        long current = generation.incrementAndGet();
+        if (pending != null) pending.cancel(false);
+        pending = scheduler.schedule(() -> run(current, index, query, mode, selection, onResult),
+            delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void run(long current, SearchIndex index, String query, SearchMode mode, FacetSelection selection,
+                     Consumer<SearchResult> onResult) {
+        if (current != generation.get()) return;
+
+        // Keep the session while the index stays the same so each keystroke narrows the previous results
+        if (session == null || session.getIndex() != index) {
+            session = new SearchSession(index);
+        }
+        SearchResult found = session.search(query, mode, selection);
+
+        if (current != generation.get()) return;
+        results.execute(() -> {
+            if (current == generation.get()) onResult.accept(found);
+        });
+    }
+}
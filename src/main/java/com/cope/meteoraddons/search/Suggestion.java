@@ -0,0 +1,31 @@
+package com.cope.meteoraddons.search;
+
+/**
+ * A completion for a partly typed query: an addon, module, command, author or
+ * tag name as the catalog spells it. Immutable.
+ */
+public final class Suggestion {
+    private final String text;
+    private final SearchField kind;
+
+    Suggestion(String text, SearchField kind) {
+        this.text = text;
+        this.kind = kind;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * NAME, MODULE, COMMAND, AUTHOR or TAG.
+     */
+    public SearchField getKind() {
+        return kind;
+    }
+
+    @Override
+    public String toString() {
+        return kind + " " + text;
+    }
+}
@@ -0,0 +1,246 @@
+package com.cope.meteoraddons.search;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Word-level index behind ranked search. Every term's BM25F impact on every
+ * document containing it (field-weighted, length-normalized term frequency
+ * saturated by k1 and scaled by idf) is computed at build time, so scoring a
+ * query only sums precomputed floats. Query words also match their typos
+ * through a BK-tree over the sorted term dictionary, and the word being typed
+ * matches as a prefix. Immutable and thread-safe once built.
+ */
+final class TermIndex {
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private static final float PREFIX_FACTOR = 0.8f;
+    private static final float[] TYPO_FACTORS = {1.0f, 0.6f, 0.35f};
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_TERMS = 64;
+
+    private final int documentCount;
+    private final String[] terms;
+    private final int[][] postingDocs;
+    private final float[][] postingImpacts;
+    private final BkTree typos;
+
+    private TermIndex(int documentCount, String[] terms, int[][] postingDocs, float[][] postingImpacts, BkTree typos) {
+        this.documentCount = documentCount;
+        this.terms = terms;
+        this.postingDocs = postingDocs;
+        this.postingImpacts = postingImpacts;
+        this.typos = typos;
+    }
+
+    static TermIndex build(SearchDocument[] docs) {
+        SearchField[] kinds = SearchField.values();
+
+        // Per document: term -> occurrences in each field kind
+        List<Map<String, int[]>> frequencies = new ArrayList<>(docs.length);
+        int[][] lengths = new int[docs.length][kinds.length];
+        TreeSet<String> dictionary = new TreeSet<>();
+        for (int doc = 0; doc < docs.length; doc++) {
+            Map<String, int[]> counts = new HashMap<>();
+            SearchDocument document = docs[doc];
+            for (int field = 0; field < document.getFieldCount(); field++) {
+                int kind = document.getFieldKind(field).ordinal();
+                for (String word : words(document.getField(field))) {
+                    counts.computeIfAbsent(word, w -> new int[kinds.length])[kind]++;
+                    lengths[doc][kind]++;
+                }
+            }
+            frequencies.add(counts);
+            dictionary.addAll(counts.keySet());
+        }
+
+        float[] averageLengths = new float[kinds.length];
+        for (int kind = 0; kind < kinds.length; kind++) {
+            int total = 0, present = 0;
+            for (int[] length : lengths) {
+                total += length[kind];
+                if (length[kind] > 0) present++;
+            }
+            averageLengths[kind] = present == 0 ? 1 : (float) total / present;
+        }
+
+        String[] terms = dictionary.toArray(String[]::new);
+        Map<String, Integer> ids = new HashMap<>(terms.length * 4 / 3 + 1);
+        for (int term = 0; term < terms.length; term++) {
+            ids.put(terms[term], term);
+        }
+
+        List<List<Integer>> docLists = new ArrayList<>(terms.length);
+        List<List<Float>> tfLists = new ArrayList<>(terms.length);
+        for (int term = 0; term < terms.length; term++) {
+            docLists.add(new ArrayList<>());
+            tfLists.add(new ArrayList<>());
+        }
+        for (int doc = 0; doc < docs.length; doc++) {
+            for (Map.Entry<String, int[]> entry : frequencies.get(doc).entrySet()) {
+                float tf = 0;
+                for (int kind = 0; kind < kinds.length; kind++) {
+                    if (entry.getValue()[kind] == 0) continue;
+                    float norm = 1 - B + B * lengths[doc][kind] / averageLengths[kind];
+                    tf += kinds[kind].getWeight() * entry.getValue()[kind] / norm;
+                }
+                int term = ids.get(entry.getKey());
+                docLists.get(term).add(doc);
+                tfLists.get(term).add(tf);
+            }
+        }
+
+        int[][] postingDocs = new int[terms.length][];
+        float[][] postingImpacts = new float[terms.length][];
+        for (int term = 0; term < terms.length; term++) {
+            List<Integer> docList = docLists.get(term);
+            List<Float> tfList = tfLists.get(term);
+            int df = docList.size();
+            float idf = (float) Math.log(1 + (docs.length - df + 0.5) / (df + 0.5));
+
+            postingDocs[term] = docList.stream().mapToInt(Integer::intValue).toArray();
+            postingImpacts[term] = new float[df];
+            for (int i = 0; i < df; i++) {
+                float tf = tfList.get(i);
+                postingImpacts[term][i] = idf * tf * (K1 + 1) / (tf + K1);
+            }
+        }
+
+        return new TermIndex(docs.length, terms, postingDocs, postingImpacts, BkTree.build(terms));
+    }
+
+    void write(IndexCodec.Writer out) throws IOException {
+        out.writeInt(documentCount);
+        out.writeInt(terms.length);
+        for (int term = 0; term < terms.length; term++) {
+            out.writeString(terms[term]);
+            out.writeInts(postingDocs[term]);
+            out.writeFloats(postingImpacts[term]);
+        }
+        typos.write(out);
+    }
+
+    static TermIndex read(IndexCodec.Reader in) throws IOException {
+        int documentCount = in.readInt();
+        int count = in.readCount();
+        String[] terms = new String[count];
+        int[][] postingDocs = new int[count][];
+        float[][] postingImpacts = new float[count][];
+        for (int term = 0; term < count; term++) {
+            terms[term] = in.readString();
+            postingDocs[term] = in.readIds(documentCount);
+            postingImpacts[term] = in.readFloats();
+            if (terms[term] == null || postingDocs[term].length != postingImpacts[term].length) {
+                throw new IOException("Bad term postings");
+            }
+        }
+        return new TermIndex(documentCount, terms, postingDocs, postingImpacts, BkTree.read(in, terms));
+    }
+
+    /**
+     * Score every document against folded query words. A document must match
+     * each word, exactly, with a few typos, or for the last word when
+     * lastIsPartial as a prefix; per word its best-scoring match counts.
+     *
+     * @return one score per document, 0 for documents that do not match
+     */
+    float[] score(List<String> words, boolean lastIsPartial) {
+        float[] total = new float[documentCount];
+        if (words.isEmpty()) return total;
+
+        int[] matched = new int[documentCount];
+        float[] best = new float[documentCount];
+        int[] touched = new int[documentCount];
+        for (int w = 0; w < words.size(); w++) {
+            int count = 0;
+            boolean partial = lastIsPartial && w == words.size() - 1;
+            for (Map.Entry<Integer, Float> expansion : expand(words.get(w), partial).entrySet()) {
+                int term = expansion.getKey();
+                float factor = expansion.getValue();
+                int[] docs = postingDocs[term];
+                float[] impacts = postingImpacts[term];
+                for (int i = 0; i < docs.length; i++) {
+                    int doc = docs[i];
+                    if (best[doc] == 0) touched[count++] = doc;
+                    best[doc] = Math.max(best[doc], impacts[i] * factor);
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                int doc = touched[i];
+                total[doc] += best[doc];
+                best[doc] = 0;
+                matched[doc]++;
+            }
+        }
+
+        for (int doc = 0; doc < documentCount; doc++) {
+            if (matched[doc] < words.size()) total[doc] = 0;
+        }
+        return total;
+    }
+
+    /**
+     * Dictionary terms a query word stands for, with the factor their impact is scaled by.
+     */
+    Map<Integer, Float> expand(String word, boolean partial) {
+        Map<Integer, Float> expansions = new HashMap<>();
+
+        int exact = Arrays.binarySearch(terms, word);
+        if (exact >= 0) expansions.put(exact, 1.0f);
+
+        if (partial && word.length() >= MIN_PREFIX_LENGTH) {
+            int from = exact >= 0 ? exact + 1 : -exact - 1;
+            for (int term = from; term < terms.length && term - from < MAX_PREFIX_TERMS && terms[term].startsWith(word); term++) {
+                expansions.put(term, PREFIX_FACTOR);
+            }
+        }
+
+        int maxTypos = maxTypos(word.length());
+        if (maxTypos > 0) {
+            typos.search(word, maxTypos, (term, distance) -> expansions.merge(term, TYPO_FACTORS[distance], Math::max));
+        }
+        return expansions;
+    }
+
+    /**
+     * Edits tolerated in a word: none for short words, where a typo is
+     * usually another word, one from four letters and two from eight.
+     */
+    static int maxTypos(int length) {
+        if (length >= 8) return 2;
+        if (length >= 4) return 1;
+        return 0;
+    }
+
+    /**
+     * Split folded text into words at anything that is not a letter or digit.
+     */
+    static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean letter = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                words.add(text.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    int getDocumentCount() {
+        return documentCount;
+    }
+
+    int getTermCount() {
+        return terms.length;
+    }
+}
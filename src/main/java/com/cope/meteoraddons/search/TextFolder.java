@@ -0,0 +1,70 @@
+package com.cope.meteoraddons.search;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Folds text for matching: lowercase, compatibility decomposition (NFKD, which
+ * also maps full-width and other presentation forms to their plain letters) and
+ * removal of combining marks, so "Café", "CAFE" and "ｃａｆｅ" all fold to "cafe".
+ * Control characters become spaces, which keeps SearchDocument's field
+ * separator out of folded text. Indexed fields and queries must be folded the same way.
+ */
+public final class TextFolder {
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern CONTROLS = Pattern.compile("\\p{Cntrl}");
+
+    private TextFolder() {
+    }
+
+    public static String fold(String text) {
+        if (text == null || text.isEmpty()) return "";
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        if (isPrintableAscii(lower)) return lower;
+
+        // Lowercase first: it can itself produce combining marks (e.g. İ -> i + U+0307)
+        String decomposed = Normalizer.normalize(lower, Normalizer.Form.NFKD);
+        String stripped = MARKS.matcher(decomposed).replaceAll("");
+        // Compatibility forms such as Ⓐ may decompose to uppercase letters
+        return CONTROLS.matcher(stripped).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Put a space between the words of a camel case identifier, so
+     * "AutoTotem" reads "Auto Totem" and "HUDPlus" reads "HUD Plus".
+     *
+     * @return the name itself when it has no such boundary
+     */
+    public static String splitCamelCase(String name) {
+        if (name == null) return "";
+
+        StringBuilder out = null;
+        for (int i = 1; i < name.length(); i++) {
+            if (isWordStart(name, i)) {
+                if (out == null) out = new StringBuilder(name.length() + 4).append(name, 0, i);
+                out.append(' ');
+            }
+            if (out != null) out.append(name.charAt(i));
+        }
+        return out == null ? name : out.toString();
+    }
+
+    private static boolean isWordStart(String name, int i) {
+        if (!Character.isUpperCase(name.charAt(i))) return false;
+
+        char previous = name.charAt(i - 1);
+        if (Character.isLowerCase(previous) || Character.isDigit(previous)) return true;
+        // Last capital of an acronym followed by a word, as the P in "HUDPlus"
+        return Character.isUpperCase(previous) && i + 1 < name.length() && Character.isLowerCase(name.charAt(i + 1));
+    }
+
+    private static boolean isPrintableAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x20 || c >= 0x7F) return false;
+        }
+        return true;
+    }
+}
@@ -5,6 +5,10 @@ import com.cope.meteoraddons.addons.Addon;
 import com.cope.meteoraddons.addons.InstalledAddon;
 import com.cope.meteoraddons.addons.OnlineAddon;
 import com.cope.meteoraddons.models.AddonMetadata;
+import com.cope.meteoraddons.network.RequestPriority;
+import com.cope.meteoraddons.network.RequestScheduler;
+import com.cope.meteoraddons.search.SearchIndex;
+import com.cope.meteoraddons.search.SearchIndexStore;
 import com.cope.meteoraddons.util.HttpClient;
 import com.cope.meteoraddons.util.VersionUtil;
 import com.google.gson.Gson;
@@ -12,7 +16,6 @@ import com.google.gson.reflect.TypeToken;
 import meteordevelopment.meteorclient.MeteorClient;
 import meteordevelopment.meteorclient.systems.System;
 import meteordevelopment.meteorclient.systems.Systems;
-import meteordevelopment.meteorclient.utils.network.MeteorExecutor;
 import net.fabricmc.loader.api.FabricLoader;
 import net.fabricmc.loader.api.ModContainer;
 import net.minecraft.nbt.CompoundTag;
@@ -23,7 +26,10 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static meteordevelopment.meteorclient.MeteorClient.mc;
@@ -38,6 +44,9 @@ public class AddonManager extends System<AddonManager> {
     private final Gson gson = new Gson();
     private List<AddonMetadata> availableAddons = new ArrayList<>();
     private List<Addon> onlineAddons = new ArrayList<>();
+    private volatile SearchIndex searchIndex = SearchIndex.EMPTY;
+    private final SearchIndexStore searchIndexStore = new SearchIndexStore(
+        MeteorClient.FOLDER.toPath().resolve("meteor-addons").resolve("search-index.bin"));
     private List<Addon> installedAddons = new ArrayList<>();
     private List<String> installedAddonNames = new ArrayList<>();
     private boolean isLoading = false;
@@ -83,6 +92,9 @@ public class AddonManager extends System<AddonManager> {
         }
 
         MeteorAddonsAddon.LOG.info("Found {} installed Meteor addons", installedAddons.size());
+        IconPreloadSystem.get().discoverInstalledIcons(new ArrayList<>(installedAddons));
+        // Installed addons are searchable before the catalog arrives
+        searchIndex = SearchIndex.build(installedAddons, onlineAddons);
     }
 
     @Override
@@ -110,7 +122,7 @@ public class AddonManager extends System<AddonManager> {
         isLoading = true;
         lastError = null;
 
-        MeteorExecutor.execute(() -> {
+        RequestScheduler.get().execute(RequestPriority.VISIBLE_UI, () -> {
             try {
                 MeteorAddonsAddon.LOG.info("Fetching addon metadata from: {}", ADDON_SCANNER_URL);
 
@@ -139,14 +151,32 @@ public class AddonManager extends System<AddonManager> {
                     .stream()
                     .collect(Collectors.toList());
 
-                onlineAddons = filteredMetadata.stream()
+                List<Addon> addons = filteredMetadata.stream()
                     .map(OnlineAddon::new)
                     .collect(Collectors.toList());
+                // An unchanged catalog maps the index saved by an earlier launch
+                String searchHash = SearchIndexStore.contentHash(gson.toJson(filteredMetadata), installedAddons);
+                Optional<SearchIndex> savedIndex = searchIndexStore.load(searchHash, installedAddons, addons);
+                // Publish the index together with the list it was built from
+                searchIndex = savedIndex.orElseGet(() -> SearchIndex.build(installedAddons, addons));
+                onlineAddons = addons;
+                if (savedIndex.isEmpty()) saveSearchIndex(searchHash, searchIndex);
 
                 MeteorAddonsAddon.LOG.info("Filtered to {} addons for Minecraft {}",
                     onlineAddons.size(), currentVersion);
 
-                preloadIconsAsync(filteredMetadata);
+                Set<String> liveIds = new HashSet<>();
+                installedAddons.forEach(addon -> liveIds.add(addon.getId()));
+                addons.forEach(addon -> liveIds.add(addon.getId()));
+                IconPreloadSystem.get().retainPlaceholders(liveIds);
+
+                // Icons are prefetched at low priority, so the update check does not wait on them
+                mc.execute(() -> {
+                    if (onLoadComplete != null) {
+                        onLoadComplete.run();
+                    }
+                });
+                prefetchIcons();
 
             } catch (IOException e) {
                 lastError = "Network error: " + e.getMessage();
@@ -160,42 +190,23 @@ public class AddonManager extends System<AddonManager> {
         });
     }
 
-    private void preloadIconsAsync(List<AddonMetadata> addons) {
-        MeteorAddonsAddon.LOG.info("Starting async icon download for {} addons", addons.size());
-
-        int successCount = 0;
-        int failureCount = 0;
-
-        for (AddonMetadata metadata : addons) {
-            String iconUrl = metadata.getIconUrl();
-            if (iconUrl == null || iconUrl.isEmpty()) {
-                failureCount++;
-                continue;
-            }
-
-            try {
-                byte[] iconData = HttpClient.downloadBytes(iconUrl);
-                String addonId = metadata.name.toLowerCase().replace(" ", "-");
-                IconPreloadSystem.get().cacheIconData(addonId, iconData);
-                successCount++;
-            } catch (IOException e) {
-                MeteorAddonsAddon.LOG.debug("Failed to download icon for {}: {}",
-                    metadata.name, e.getMessage());
-                failureCount++;
-            }
+    private void saveSearchIndex(String contentHash, SearchIndex index) {
+        try {
+            searchIndexStore.store(contentHash, index);
+        } catch (IOException e) {
+            MeteorAddonsAddon.LOG.warn("Failed to save search index: {}", e.getMessage());
         }
+    }
 
-        MeteorAddonsAddon.LOG.info("Icon download complete: {} success, {} failed",
-            successCount, failureCount);
-
-        mc.execute(() -> {
-            MeteorAddonsAddon.LOG.info("Converting downloaded icons to GPU textures");
-            IconPreloadSystem.get().onResourceManagerReload(mc.getResourceManager());
+    private void prefetchIcons() {
+        List<Addon> addons = onlineAddons;
+        MeteorAddonsAddon.LOG.info("Queueing icon prefetch for {} addons", addons.size());
 
-            // Notify that loading is complete
-            if (onLoadComplete != null) {
-                onLoadComplete.run();
-            }
+        IconPreloadSystem icons = IconPreloadSystem.get();
+        icons.prefetchIcons(addons).thenRun(() -> {
+            // Textures are uploaded a few per frame by IconPreloadSystem's upload queue
+            MeteorAddonsAddon.LOG.info("Icon prefetch complete: {} failed, {} queued for upload",
+                icons.getFailedIconCount(), icons.getPendingUploadCount());
         });
     }
 
@@ -265,6 +276,16 @@ public class AddonManager extends System<AddonManager> {
         return onlineAddons;
     }
 
+    /**
+     * Search index over the installed addons and the current online addon list,
+     * built after the startup scan and rebuilt whenever a new catalog is fetched,
+     * unless the index saved for the same catalog can be loaded.
+     * Select a FacetGroup.SCOPE to search one of them.
+     */
+    public SearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+
     public List<Addon> getInstalledAddons() {
         return installedAddons;
     }
@@ -1,37 +1,117 @@
 package com.cope.meteoraddons.systems;
 
 import com.cope.meteoraddons.MeteorAddonsAddon;
+import com.cope.meteoraddons.addons.Addon;
+import com.cope.meteoraddons.addons.InstalledAddon;
+import com.cope.meteoraddons.addons.OnlineAddon;
+import com.cope.meteoraddons.config.IconPipelineConfig;
 import com.cope.meteoraddons.config.IconSizeConfig;
+import com.cope.meteoraddons.icons.DecodedIcon;
+import com.cope.meteoraddons.icons.IconDataStore;
+import com.cope.meteoraddons.icons.IconDecoder;
+import com.cope.meteoraddons.icons.IconFailureCache;
+import com.cope.meteoraddons.icons.IconHashIndex;
+import com.cope.meteoraddons.icons.IconMetrics;
+import com.cope.meteoraddons.icons.IconPlaceholder;
+import com.cope.meteoraddons.icons.IconUploadQueue;
+import com.cope.meteoraddons.icons.IconVariants;
+import com.cope.meteoraddons.icons.InstalledIconCache;
+import com.cope.meteoraddons.icons.PixelConverter;
+import com.cope.meteoraddons.icons.TextureCache;
+import com.cope.meteoraddons.network.RequestPriority;
+import com.cope.meteoraddons.network.RequestScheduler;
 import com.mojang.blaze3d.textures.FilterMode;
 import com.mojang.blaze3d.GpuFormat;
+import com.cope.meteoraddons.util.HashUtil;
+import meteordevelopment.meteorclient.MeteorClient;
+import meteordevelopment.meteorclient.events.world.TickEvent;
 import meteordevelopment.meteorclient.renderer.Texture;
 import meteordevelopment.meteorclient.systems.System;
 import meteordevelopment.meteorclient.systems.Systems;
-import com.mojang.blaze3d.platform.NativeImage;
+import meteordevelopment.orbit.EventHandler;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
 import net.minecraft.server.packs.resources.ResourceManager;
 import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
 
-import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
+import static meteordevelopment.meteorclient.MeteorClient.mc;
+
 /**
- * Manages addon icon preloading during resource reload.
- * HTTP downloads fill iconDataCache (background), reload() converts to GPU
- * textures (render thread).
- * Thread-safe: iconDataCache uses ConcurrentHashMap, textureRegistry is
- * render-thread only.
+ * Manages addon icon preloading.
+ * HTTP downloads and JAR reads fill iconData (background), the decoder pool turns them
+ * into RGBA pixels (worker threads) and the upload queue moves those into GPU
+ * textures a few per frame (render thread).
+ * Each icon is decoded into the size variants widgets actually draw (see
+ * IconSizeConfig.ICON_VARIANT_SIZES); decodedIcons, the upload queue and the
+ * texture cache are keyed per variant (IconVariants.key).
+ * Icon bytes, decodes and textures are keyed by the content hash of the image
+ * rather than the addon id (IconHashIndex), so addons sharing an icon share
+ * one copy; an image is released once no addon references it.
+ * A 4x4 placeholder per addon (IconPlaceholder) is computed on first decode
+ * and persisted, so later sessions show it before the icon is loaded.
+ * Textures live in an LRU cache bounded by a GPU memory budget and are all
+ * closed once the screens showing icons are closed; evicted icons are decoded
+ * again from iconData when they are next rendered.
+ * Icon bytes are downscaled at ingest to the largest variant, and iconData only
+ * holds them strongly up to a byte budget and until their pixels are decoded;
+ * after that they are softly reachable and re-fetched if the GC reclaims them.
+ * Installed addon icons are cached on disk as resized pixels per JAR version
+ * (InstalledIconCache), so later sessions skip the JAR read and PNG decode.
+ * Failed fetches and decodes are remembered in an IconFailureCache (persisted
+ * with this system) so broken icons are not retried until their backoff ends.
+ * Thread-safe: decodedIcons uses ConcurrentHashMap, iconData is synchronized,
+ * textureCache is render-thread only.
  */
 public class IconPreloadSystem extends System<IconPreloadSystem> implements ResourceManagerReloadListener {
-    private final Map<String, byte[]> iconDataCache = new ConcurrentHashMap<>();
-    private final Map<String, Texture> textureRegistry = new ConcurrentHashMap<>();
+    private static final long SCREEN_CLOSE_GRACE_NANOS = 250_000_000L;
+
+    private final IconDataStore iconData = new IconDataStore(IconPipelineConfig.RAW_ICON_BUDGET_BYTES);
+    private final IconHashIndex iconIndex = new IconHashIndex();
+    private final Map<String, Addon> knownAddons = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> placeholders = new ConcurrentHashMap<>();
+    private final Map<String, Texture> placeholderTextures = new ConcurrentHashMap<>();
+    private final Map<String, DecodedIcon> decodedIcons = new ConcurrentHashMap<>();
+    private final Map<String, Set<Integer>> requestedVariants = new ConcurrentHashMap<>();
+    // Priority each in-flight fetch was last requested at
+    private final Map<String, RequestPriority> fetchesInFlight = new ConcurrentHashMap<>();
+    private final Set<String> decodesInFlight = ConcurrentHashMap.newKeySet();
+    private final IconFailureCache failureCache = new IconFailureCache();
+    private final InstalledIconCache installedIconCache = new InstalledIconCache(
+            MeteorClient.FOLDER.toPath().resolve("meteor-addons").resolve("icon-cache"));
+    private final Map<String, InstalledIconSource> installedSources = new ConcurrentHashMap<>();
+    // Installed addons whose JAR has no icon; session only, since an updated JAR may add one
+    private final Set<String> jarsWithoutIcon = ConcurrentHashMap.newKeySet();
+    private final TextureCache textureCache = new TextureCache(IconPipelineConfig.GPU_BUDGET_BYTES);
+    private final IconMetrics metrics = new IconMetrics();
+    private final IconDecoder decoder = new IconDecoder(metrics);
+    private final IconUploadQueue uploadQueue = new IconUploadQueue();
+    private final CompletableFuture<List<DecodedIcon>> installedIndicatorPixels;
+    private final Map<Integer, Texture> installedIndicators = new ConcurrentHashMap<>();
     private Texture defaultTexture;
-    private Texture installedIndicator;
+    private int uploadBudgetMs = IconPipelineConfig.UPLOAD_BUDGET_MS;
+    private long lastIconRenderNanos;
+    private long iconScreenClosedNanos;
 
     public IconPreloadSystem() {
         super("icon-preload");
+        installedIndicatorPixels = decoder.decodeResource("/assets/meteor-addons/installed-icon.png",
+                IconSizeConfig.INSTALLED_INDICATOR_SIZE / 2, IconSizeConfig.INSTALLED_INDICATOR_SIZE);
     }
 
     public static IconPreloadSystem get() {
@@ -39,23 +119,454 @@ public class IconPreloadSystem extends System<IconPreloadSystem> implements Reso
     }
 
     /**
-     * Cache icon data from HTTP download (background thread safe).
+     * Cache icon data from HTTP download (background threads only).
+     * Icons are deduplicated by content hash: an image already loaded for any
+     * addon is shared instead of being stored, decoded and uploaded again.
+     * New images are decoded only in the variants drawn so far for the addon
+     * (or the list size); images larger than the largest variant are
+     * downscaled before being stored.
      */
-    public void cacheIconData(String addonId, byte[] pngData) {
-        if (pngData == null || pngData.length == 0) {
+    public void cacheIconData(String addonId, byte[] rawData) {
+        if (rawData == null || rawData.length == 0) {
             MeteorAddonsAddon.LOG.warn("Ignoring empty icon data for {}", addonId);
             return;
         }
 
-        iconDataCache.put(addonId, pngData);
-        MeteorAddonsAddon.LOG.debug("Cached icon data for {} ({} bytes)", addonId, pngData.length);
+        // Hash the downloaded bytes so identical images map to one entry
+        String hash = HashUtil.computeSha256(rawData);
+        String orphaned = iconIndex.assign(addonId, hash);
+        if (orphaned != null) releaseIcon(orphaned);
+
+        if (iconData.contains(hash)) {
+            failureCache.clear(addonId);
+            MeteorAddonsAddon.LOG.debug("Icon for {} unchanged or shared ({} addons)", addonId, iconIndex.refCount(hash));
+            return;
+        }
+
+        byte[] pngData;
+        try {
+            pngData = decoder.downscalePng(rawData, IconVariants.largest());
+        } catch (IOException e) {
+            recordFailure(addonId, IconFailureCache.Reason.DECODE);
+            MeteorAddonsAddon.LOG.warn("Failed to decode icon for {}: {}", addonId, e.getMessage());
+            return;
+        }
+
+        iconData.put(hash, pngData);
+        failureCache.clear(addonId);
+        Set<Integer> requested = requestedVariants.get(addonId);
+        int[] sizes = requested != null && !requested.isEmpty()
+                ? requested.stream().mapToInt(Integer::intValue).toArray()
+                : new int[] { IconVariants.pick(IconSizeConfig.ADDON_ICON_SIZE) };
+        submitDecode(hash, pngData, sizes);
+        MeteorAddonsAddon.LOG.debug("Cached icon data for {} ({} bytes, {} downloaded)",
+                addonId, pngData.length, rawData.length);
+    }
+
+    public boolean hasIconData(String addonId) {
+        String hash = iconIndex.hashOf(addonId);
+        return hash != null && iconData.contains(hash);
     }
 
     /**
-     * Get texture for addon (instant lookup, render thread only).
+     * Decode an image into the given variants on the worker pool and queue the
+     * results for upload. Results for images no addon references anymore are dropped.
+     */
+    private void submitDecode(String hash, byte[] pngData, int... sizes) {
+        for (int size : sizes) {
+            decodesInFlight.add(IconVariants.key(hash, size));
+        }
+
+        decoder.decode(pngData, sizes).whenComplete((icons, error) -> {
+            for (int size : sizes) {
+                decodesInFlight.remove(IconVariants.key(hash, size));
+            }
+
+            Set<String> addonIds = iconIndex.idsOf(hash);
+            if (error != null) {
+                addonIds.forEach(id -> recordFailure(id, IconFailureCache.Reason.DECODE));
+                MeteorAddonsAddon.LOG.warn("Failed to decode icon for {}: {}", addonIds, error.getMessage());
+                return;
+            }
+
+            boolean stale = addonIds.isEmpty();
+            if (!stale) {
+                addonIds.forEach(failureCache::clear);
+                // Pixels exist now, the encoded bytes are only needed for other variants
+                iconData.demote(hash);
+            }
+            if (!stale && !icons.isEmpty()) {
+                rememberPlaceholder(addonIds, icons.get(0));
+            }
+            for (DecodedIcon icon : icons) {
+                if (stale) {
+                    decoder.release(icon);
+                    continue;
+                }
+
+                for (String addonId : addonIds) {
+                    InstalledIconSource installed = installedSources.get(addonId);
+                    if (installed != null) storeInstalledVariant(addonId, installed, icon);
+                }
+
+                String key = IconVariants.key(hash, icon.size());
+                decoder.release(decodedIcons.put(key, icon));
+                uploadQueue.enqueue(key);
+            }
+        });
+    }
+
+    private void storeInstalledVariant(String addonId, InstalledIconSource installed, DecodedIcon icon) {
+        try {
+            installedIconCache.store(installed.source(), icon);
+        } catch (IOException e) {
+            MeteorAddonsAddon.LOG.debug("Failed to cache icon for {}: {}", addonId, e.getMessage());
+        }
+    }
+
+    /**
+     * Store the placeholder thumbnail of a freshly decoded icon (worker thread).
+     * It is persisted, so later sessions show it before the icon is loaded.
+     */
+    private void rememberPlaceholder(Set<String> addonIds, DecodedIcon icon) {
+        byte[] thumbnail = IconPlaceholder.thumbnail(icon.rgba(), icon.size());
+        for (String addonId : addonIds) {
+            byte[] previous = placeholders.put(addonId, thumbnail);
+            if (previous != null && !Arrays.equals(previous, thumbnail)) {
+                dropPlaceholderTexture(addonId);
+            }
+        }
+    }
+
+    /**
+     * Forget the placeholder thumbnails of addons that are neither in the
+     * catalog nor installed anymore, so the saved settings do not keep one for
+     * every addon ever shown (any thread).
+     *
+     * @param addonIds Ids of the current catalog and installed addons
+     */
+    public void retainPlaceholders(Set<String> addonIds) {
+        int removed = 0;
+        for (String addonId : placeholders.keySet()) {
+            if (addonIds.contains(addonId) || placeholders.remove(addonId) == null) continue;
+            dropPlaceholderTexture(addonId);
+            removed++;
+        }
+        if (removed > 0) MeteorAddonsAddon.LOG.debug("Removed {} placeholder thumbnails of departed addons", removed);
+    }
+
+    /**
+     * Close an outdated placeholder texture; it is rebuilt on next use (any thread).
+     */
+    private void dropPlaceholderTexture(String addonId) {
+        mc.execute(() -> {
+            Texture texture = placeholderTextures.remove(addonId);
+            if (texture != null) texture.close();
+        });
+    }
+
+    /**
+     * Drop everything held for an image no addon references anymore.
+     */
+    private void releaseIcon(String hash) {
+        iconData.remove(hash);
+        for (int size : IconSizeConfig.ICON_VARIANT_SIZES) {
+            decoder.release(decodedIcons.remove(IconVariants.key(hash, size)));
+        }
+        mc.execute(() -> {
+            for (int size : IconSizeConfig.ICON_VARIANT_SIZES) {
+                textureCache.remove(IconVariants.key(hash, size));
+            }
+        });
+    }
+
+    /**
+     * Get the list-size texture for addon (instant lookup, render thread only).
      */
     public Texture getTexture(String addonId) {
-        return textureRegistry.get(addonId);
+        String hash = iconIndex.hashOf(addonId);
+        if (hash == null) return null;
+        return textureCache.get(IconVariants.key(hash, IconVariants.pick(IconSizeConfig.ADDON_ICON_SIZE)));
+    }
+
+    /**
+     * Called by icon screens once per frame before they draw (render thread only).
+     * Gives the upload queue its per-frame slice of uploadBudgetMs.
+     */
+    public void onIconFrame() {
+        long start = java.lang.System.nanoTime();
+        int uploaded = uploadQueue.onFrame(uploadBudgetMs * 1_000_000L, this::uploadIcon);
+        metrics.recordUploadFrame(uploaded, java.lang.System.nanoTime() - start);
+    }
+
+    /**
+     * Called by icon widgets every time they render (render thread only).
+     * Marks the icon variant as visible to the upload queue. Variants that are
+     * missing or were evicted are decoded here.
+     *
+     * @param size The variant the widget draws, see IconVariants.pick
+     * @return the texture for that variant, another uploaded variant of the same
+     *         icon while it is decoding, or null if none is uploaded yet
+     */
+    public Texture onIconRendered(String addonId, int size) {
+        lastIconRenderNanos = java.lang.System.nanoTime();
+        String hash = iconIndex.hashOf(addonId);
+        if (hash == null) {
+            requestVariant(addonId, size);
+            return null;
+        }
+
+        String key = IconVariants.key(hash, size);
+        uploadQueue.markVisible(key);
+        Texture texture = textureCache.get(key);
+        metrics.recordTextureLookup(texture != null);
+        if (texture != null) return texture;
+
+        requestVariant(addonId, size);
+
+        for (int variant : IconSizeConfig.ICON_VARIANT_SIZES) {
+            texture = textureCache.get(IconVariants.key(hash, variant));
+            if (texture != null) return texture;
+        }
+        return null;
+    }
+
+    private void requestVariant(String addonId, int size) {
+        requestedVariants.computeIfAbsent(addonId, id -> ConcurrentHashMap.newKeySet()).add(size);
+        if (isIconBlocked(addonId) || jarsWithoutIcon.contains(addonId)) return;
+
+        String hash = iconIndex.hashOf(addonId);
+        if (hash != null) {
+            String key = IconVariants.key(hash, size);
+            if (decodesInFlight.contains(key) || decodedIcons.containsKey(key)) return;
+        }
+
+        InstalledIconSource installed = installedSources.get(addonId);
+        if (installed != null) {
+            loadInstalledVariant(addonId, installed, size);
+            return;
+        }
+
+        byte[] pngData = hash != null ? iconData.get(hash) : null;
+        if (hash != null) metrics.recordRawDataLookup(pngData != null);
+        if (pngData != null) {
+            submitDecode(hash, pngData, size);
+            return;
+        }
+
+        // Not fetched yet, or the bytes were reclaimed after decoding
+        Addon addon = knownAddons.get(addonId);
+        if (addon != null) fetchIcon(addon, RequestPriority.VISIBLE_UI);
+    }
+
+    /**
+     * Read an installed addon's variant from the disk cache on the worker pool.
+     * On a miss the icon is extracted from the JAR, and submitDecode writes the
+     * decoded variants back to the disk cache.
+     */
+    private void loadInstalledVariant(String addonId, InstalledIconSource installed, int size) {
+        String hash = iconIndex.hashOf(addonId);
+        if (hash == null) {
+            // Disk pixels carry no content hash; key them by JAR version until the PNG is read
+            hash = installed.source().cacheKey();
+            String orphaned = iconIndex.assign(addonId, hash);
+            if (orphaned != null) releaseIcon(orphaned);
+        }
+
+        String iconHash = hash;
+        String key = IconVariants.key(iconHash, size);
+        if (!decodesInFlight.add(key)) return;
+
+        decoder.submit(() -> installedIconCache.load(installed.source(), size, decoder.getBufferPool()))
+            .whenComplete((icon, error) -> {
+                decodesInFlight.remove(key);
+                metrics.recordDiskLookup(icon != null && icon.isPresent());
+
+                if (icon != null && icon.isPresent()) {
+                    rememberPlaceholder(Set.of(addonId), icon.get());
+                    decoder.release(decodedIcons.put(key, icon.get()));
+                    uploadQueue.enqueue(key);
+                    return;
+                }
+
+                byte[] pngData = iconData.get(iconHash);
+                metrics.recordRawDataLookup(pngData != null);
+                if (pngData != null) {
+                    submitDecode(iconHash, pngData, size);
+                } else {
+                    fetchIcon(installed.addon(), RequestPriority.VISIBLE_UI);
+                }
+            });
+    }
+
+    /**
+     * Register installed addon JARs with the icon disk cache (background).
+     * Icons of new or changed JARs are extracted and cached once; JARs already
+     * cached are not opened, and cache files of removed or updated JARs are deleted.
+     */
+    public void discoverInstalledIcons(List<Addon> addons) {
+        RequestScheduler.get().execute(RequestPriority.BACKGROUND, () -> {
+            int listSize = IconVariants.pick(IconSizeConfig.ADDON_ICON_SIZE);
+            Set<InstalledIconCache.Source> live = new HashSet<>();
+            int extracted = 0;
+
+            for (Addon addon : addons) {
+                if (!(addon instanceof InstalledAddon installed)) continue;
+
+                Path jar = installed.getJarPath();
+                if (jar == null) continue;
+
+                try {
+                    InstalledIconCache.Source source = InstalledIconCache.Source.of(jar);
+                    live.add(source);
+                    InstalledIconSource previous = installedSources.put(addon.getId(),
+                            new InstalledIconSource(installed, source));
+                    // A changed JAR is read again even if the previous one had no icon
+                    if (previous != null && !previous.source().equals(source)) jarsWithoutIcon.remove(addon.getId());
+
+                    if (!installedIconCache.contains(source, listSize)) {
+                        fetchIcon(installed, RequestPriority.BACKGROUND);
+                        extracted++;
+                    }
+                } catch (IOException e) {
+                    MeteorAddonsAddon.LOG.debug("Failed to stat JAR for {}: {}", addon.getId(), e.getMessage());
+                }
+            }
+
+            int pruned = installedIconCache.prune(live, IconSizeConfig.ICON_VARIANT_SIZES);
+            MeteorAddonsAddon.LOG.info("Installed addon icons: {} cached, {} to extract, {} stale files removed",
+                    live.size() - extracted, extracted, pruned);
+        });
+    }
+
+    /**
+     * Called when a screen showing addon icons is removed. If no other icon
+     * screen takes over, every icon texture is closed on a following tick.
+     */
+    public void onIconScreenClosed() {
+        iconScreenClosedNanos = java.lang.System.nanoTime();
+    }
+
+    // Systems.add subscribes systems to the Meteor event bus
+    @EventHandler
+    private void onTick(TickEvent.Post event) {
+        if (iconScreenClosedNanos == 0) return;
+
+        if (lastIconRenderNanos > iconScreenClosedNanos) {
+            // Another icon screen opened and is rendering
+            iconScreenClosedNanos = 0;
+            return;
+        }
+
+        if (java.lang.System.nanoTime() - iconScreenClosedNanos < SCREEN_CLOSE_GRACE_NANOS) return;
+
+        iconScreenClosedNanos = 0;
+        if (textureCache.size() > 0) {
+            MeteorAddonsAddon.LOG.debug("Icon screens closed, releasing {} textures", textureCache.size());
+            textureCache.clear();
+        }
+        closePlaceholderTextures();
+    }
+
+    /**
+     * Pipeline counters for the diagnostics screen.
+     */
+    public IconMetrics getMetrics() {
+        return metrics;
+    }
+
+    public int getPendingUploadCount() {
+        return uploadQueue.size();
+    }
+
+    public int getUploadBudgetMs() {
+        return uploadBudgetMs;
+    }
+
+    /**
+     * Set the render-thread time spent uploading icons per frame.
+     */
+    public void setUploadBudgetMs(int uploadBudgetMs) {
+        this.uploadBudgetMs = Math.max(1, uploadBudgetMs);
+        save();
+    }
+
+    public long getGpuBudgetBytes() {
+        return textureCache.getBudgetBytes();
+    }
+
+    /**
+     * Set the GPU memory budget for addon icon textures (render thread only).
+     */
+    public void setGpuBudgetBytes(long gpuBudgetBytes) {
+        textureCache.setBudgetBytes(Math.max(IconPipelineConfig.MIN_GPU_BUDGET_BYTES, gpuBudgetBytes));
+        save();
+    }
+
+    public long getRawIconBudgetBytes() {
+        return iconData.getBudgetBytes();
+    }
+
+    /**
+     * Set how many bytes of encoded icon data may be held strongly (any thread).
+     */
+    public void setRawIconBudgetBytes(long rawIconBudgetBytes) {
+        iconData.setBudgetBytes(Math.max(0, rawIconBudgetBytes));
+        save();
+    }
+
+    public long getRawIconStrongBytes() {
+        return iconData.getStrongBytes();
+    }
+
+    public int getRawIconSoftCount() {
+        return iconData.getSoftCount();
+    }
+
+    /**
+     * Distinct icon images loaded, after content-hash deduplication.
+     */
+    public int getUniqueIconCount() {
+        return iconIndex.uniqueCount();
+    }
+
+    public int getIconAddonCount() {
+        return iconIndex.addonCount();
+    }
+
+    public long getGpuUsedBytes() {
+        return textureCache.getUsedBytes();
+    }
+
+    public long getTextureEvictionCount() {
+        return textureCache.getEvictionCount();
+    }
+
+    public int getTextureCount() {
+        return textureCache.size();
+    }
+
+    /**
+     * Texture to draw while an addon's icon is not uploaded: its 4x4 placeholder
+     * thumbnail if one was computed in this or an earlier session, otherwise
+     * the default texture (render thread only).
+     */
+    public Texture getPlaceholderTexture(String addonId) {
+        Texture texture = placeholderTextures.get(addonId);
+        if (texture != null) return texture;
+
+        byte[] thumbnail = placeholders.get(addonId);
+        if (thumbnail == null) return getDefaultTexture();
+
+        texture = new Texture(IconPlaceholder.SIZE, IconPlaceholder.SIZE, GpuFormat.RGBA8_UNORM,
+                FilterMode.LINEAR, FilterMode.LINEAR);
+        ByteBuffer pixels = decoder.getBufferPool().acquire(IconPlaceholder.BYTES);
+        pixels.put(thumbnail).flip();
+        texture.upload(pixels);
+        decoder.getBufferPool().release(pixels);
+
+        placeholderTextures.put(addonId, texture);
+        return texture;
     }
 
     public Texture getDefaultTexture() {
@@ -66,156 +577,310 @@ public class IconPreloadSystem extends System<IconPreloadSystem> implements Reso
     }
 
     /**
-     * Load texture from InputStream for installed addons with embedded JAR icons.
+     * Start loading an addon's icon in the background if it is neither cached
+     * nor already being fetched. Never blocks: online icons are downloaded and
+     * JAR icons read as VISIBLE_UI requests (or from the disk cache once
+     * discoverInstalledIcons has registered the JAR), then go through the normal
+     * decode and upload path, and icon widgets swap the texture in on their next frame.
+     * A fetch still queued as a prefetch is promoted instead of started twice.
+     * Icons that failed recently are skipped until their backoff ends.
      */
-    public Texture loadTextureFromStream(String addonId, InputStream iconStream) {
-        Texture existing = textureRegistry.get(addonId);
-        if (existing != null) {
-            return existing;
+    public void requestIcon(Addon addon) {
+        String addonId = addon.getId();
+        knownAddons.put(addonId, addon);
+        if (installedSources.containsKey(addonId)) {
+            requestVariant(addonId, IconVariants.pick(IconSizeConfig.ADDON_ICON_SIZE));
+            return;
         }
 
-        try {
-            byte[] iconData = iconStream.readAllBytes();
-            NativeImage image = NativeImage.read(new ByteArrayInputStream(iconData));
-            Texture texture = createTextureFromNativeImage(image, IconSizeConfig.ADDON_ICON_SIZE);
-            textureRegistry.put(addonId, texture);
-            image.close();
-            MeteorAddonsAddon.LOG.debug("Loaded texture from stream for {}", addonId);
-            return texture;
-        } catch (Exception e) {
-            MeteorAddonsAddon.LOG.warn("Failed to load texture from stream for {}: {}", addonId, e.getMessage());
-            if (defaultTexture == null) {
-                defaultTexture = createDefaultTexture(IconSizeConfig.ADDON_ICON_SIZE);
-            }
-            return defaultTexture;
+        fetchIcon(addon, RequestPriority.VISIBLE_UI);
+    }
+
+    /**
+     * Queue icon downloads for addons that are not on screen yet, behind any
+     * visible or user-initiated request.
+     *
+     * @return completes once every queued fetch has finished, successfully or not
+     */
+    public CompletableFuture<Void> prefetchIcons(List<? extends Addon> addons) {
+        List<CompletableFuture<Void>> fetches = new ArrayList<>();
+        for (Addon addon : addons) {
+            knownAddons.put(addon.getId(), addon);
+            fetches.add(fetchIcon(addon, RequestPriority.PREFETCH));
         }
+        return CompletableFuture.allOf(fetches.toArray(new CompletableFuture[0]));
     }
 
-    public Texture getInstalledIndicator() {
-        if (installedIndicator == null) {
+    private CompletableFuture<Void> fetchIcon(Addon addon, RequestPriority priority) {
+        String addonId = addon.getId();
+        String requestKey = "icon:" + addonId;
+        String url = iconUrl(addon);
+        if (hasIconData(addonId) || failureCache.isBlocked(addonId, url) || jarsWithoutIcon.contains(addonId)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        RequestPriority requested = fetchesInFlight.putIfAbsent(addonId, priority);
+        if (requested != null) {
+            // Unloaded widgets land here every frame; only take the scheduler's lock to raise the fetch
+            if (priority.isHigherThan(requested) && fetchesInFlight.replace(addonId, requested, priority)) {
+                RequestScheduler.get().promote(requestKey, priority);
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+
+        String host = iconHost(url);
+        return RequestScheduler.get().execute(priority, requestKey, () -> {
+            long start = java.lang.System.nanoTime();
             try {
-                InputStream stream = IconPreloadSystem.class.getResourceAsStream(
-                        "/assets/meteor-addons/installed-icon.png");
-                if (stream != null) {
-                    byte[] data = stream.readAllBytes();
-                    NativeImage image = NativeImage.read(new ByteArrayInputStream(data));
-                    installedIndicator = createTextureFromNativeImage(image, IconSizeConfig.INSTALLED_INDICATOR_SIZE);
-                    image.close();
+                Optional<InputStream> iconStream = addon.getIconStream();
+                if (iconStream.isPresent()) {
+                    byte[] data;
+                    try (InputStream in = iconStream.get()) {
+                        data = in.readAllBytes();
+                    }
+                    if (host != null) metrics.recordDownload(host, data.length, java.lang.System.nanoTime() - start);
+                    cacheIconData(addonId, data);
+                } else if (addon instanceof InstalledAddon) {
+                    // Not a failure: the saved backoff would outlive an update that adds an icon
+                    jarsWithoutIcon.add(addonId);
                 } else {
-                    MeteorAddonsAddon.LOG.warn("Installed indicator asset not found, using default");
-                    installedIndicator = createDefaultTexture(IconSizeConfig.INSTALLED_INDICATOR_SIZE);
+                    recordFailure(addonId, url, IconFailureCache.Reason.NOT_FOUND);
                 }
             } catch (Exception e) {
-                MeteorAddonsAddon.LOG.error("Failed to load installed indicator", e);
-                installedIndicator = createDefaultTexture(IconSizeConfig.INSTALLED_INDICATOR_SIZE);
+                if (host != null) metrics.recordDownloadFailure(host);
+                recordFetchFailure(addonId, url, e);
+            } finally {
+                fetchesInFlight.remove(addonId);
             }
-        }
-        return installedIndicator;
+        });
     }
 
     /**
-     * ResourceManagerReloadListener: called on render thread during resource load.
+     * URL an online addon's icon is downloaded from, or null for icons read from JARs.
      */
-    @Override
-    public void onResourceManagerReload(ResourceManager manager) {
-        MeteorAddonsAddon.LOG.info("Starting icon preload: {} cached icons", iconDataCache.size());
+    private static String iconUrl(Addon addon) {
+        return addon instanceof OnlineAddon online ? online.getMetadata().getIconUrl() : null;
+    }
 
-        for (Texture oldTexture : textureRegistry.values()) {
-            if (oldTexture != null && oldTexture != defaultTexture) {
-                oldTexture.close();
-            }
+    /**
+     * Host of an icon URL, or null for icons read from JARs.
+     */
+    private static String iconHost(String url) {
+        if (url == null) return null;
+        try {
+            return URI.create(url).getHost();
+        } catch (IllegalArgumentException e) {
+            return null;
         }
-        textureRegistry.clear();
+    }
 
-        int successCount = 0;
-        int failureCount = 0;
+    /**
+     * Whether the icon failed recently at its current URL and should not be
+     * fetched again yet.
+     */
+    public boolean isIconBlocked(String addonId) {
+        return failureCache.isBlocked(addonId, iconUrl(knownAddons.get(addonId)));
+    }
 
-        for (Map.Entry<String, byte[]> entry : iconDataCache.entrySet()) {
-            String addonId = entry.getKey();
-            byte[] pngData = entry.getValue();
+    /**
+     * Remember a failed icon download so its URL is not retried until its backoff ends.
+     */
+    private void recordFetchFailure(String addonId, String url, Exception error) {
+        IconFailureCache.Failure failure = recordFailure(addonId, url, IconFailureCache.classifyFetchError(error));
+        MeteorAddonsAddon.LOG.debug("Failed to load icon for {} ({}, attempt {}): {}",
+                addonId, failure.reason(), failure.count(), error.getMessage());
+    }
 
+    private IconFailureCache.Failure recordFailure(String addonId, IconFailureCache.Reason reason) {
+        return recordFailure(addonId, iconUrl(knownAddons.get(addonId)), reason);
+    }
+
+    private IconFailureCache.Failure recordFailure(String addonId, String url, IconFailureCache.Reason reason) {
+        metrics.recordFailure(reason);
+        return failureCache.recordFailure(addonId, url, reason);
+    }
+
+    public int getFailedIconCount() {
+        return failureCache.size();
+    }
+
+    /**
+     * Installed indicator texture in the variant closest to the given size,
+     * or null while its pixels are still decoding.
+     *
+     * @param pixels On-screen size of the indicator in physical pixels
+     */
+    public Texture getInstalledIndicator(double pixels) {
+        if (installedIndicators.isEmpty() && installedIndicatorPixels.isDone()) {
             try {
-                NativeImage image = NativeImage.read(new ByteArrayInputStream(pngData));
-                Texture texture = createTextureFromNativeImage(image, IconSizeConfig.ADDON_ICON_SIZE);
-                textureRegistry.put(addonId, texture);
-                image.close();
-                successCount++;
+                for (DecodedIcon icon : installedIndicatorPixels.join()) {
+                    installedIndicators.put(icon.size(), createTexture(icon));
+                    decoder.release(icon);
+                }
             } catch (Exception e) {
-                MeteorAddonsAddon.LOG.warn("Failed to create texture for {}: {}",
-                        addonId, e.getMessage());
-                failureCount++;
+                MeteorAddonsAddon.LOG.error("Failed to load installed indicator", e);
+                installedIndicators.put(IconSizeConfig.INSTALLED_INDICATOR_SIZE,
+                        createDefaultTexture(IconSizeConfig.INSTALLED_INDICATOR_SIZE));
             }
         }
 
-        MeteorAddonsAddon.LOG.info("Icon preload complete: {} success, {} failed",
-                successCount, failureCount);
+        Texture best = null;
+        int bestSize = 0;
+        for (Map.Entry<Integer, Texture> entry : installedIndicators.entrySet()) {
+            int size = entry.getKey();
+            boolean better = best == null
+                    || (bestSize < pixels ? size > bestSize : size >= pixels && size < bestSize);
+            if (better) {
+                best = entry.getValue();
+                bestSize = size;
+            }
+        }
+        return best;
     }
 
     /**
-     * Create Texture from NativeImage with resizing and ABGR→RGBA conversion.
+     * ResourceManagerReloadListener: called on render thread during resource load.
+     * Textures survive a reload, so only icons without a list-size texture are queued.
      */
-    @SuppressWarnings("deprecation")
-    private Texture createTextureFromNativeImage(NativeImage sourceImage, int targetSize) {
-        NativeImage image;
-
-        if (sourceImage.getWidth() != targetSize || sourceImage.getHeight() != targetSize) {
-            NativeImage resized = new NativeImage(targetSize, targetSize, false);
-            sourceImage.resizeSubRectTo(0, 0, sourceImage.getWidth(), sourceImage.getHeight(), resized);
-            image = resized;
-        } else {
-            image = sourceImage;
+    @Override
+    public void onResourceManagerReload(ResourceManager manager) {
+        int listSize = IconVariants.pick(IconSizeConfig.ADDON_ICON_SIZE);
+        int queued = 0;
+        for (String addonId : iconIndex.addonIds()) {
+            String hash = iconIndex.hashOf(addonId);
+            if (hash == null) continue;
+
+            String key = IconVariants.key(hash, listSize);
+            if (textureCache.contains(key) || decodesInFlight.contains(key)) continue;
+
+            if (decodedIcons.containsKey(key)) {
+                uploadQueue.enqueue(key);
+            } else {
+                requestVariant(addonId, listSize);
+            }
+            queued++;
         }
 
-        Texture texture = new Texture(targetSize, targetSize, GpuFormat.RGBA8_UNORM, FilterMode.LINEAR,
-                FilterMode.LINEAR);
+        MeteorAddonsAddon.LOG.info("Icon preload: {} icons ({} unique), {} queued for upload",
+                iconIndex.addonCount(), iconIndex.uniqueCount(), queued);
+    }
 
-        int[] pixels = image.makePixelArray();
-        byte[] bytes = new byte[targetSize * targetSize * 4];
+    /**
+     * Upload one queued icon variant (render thread, called by the upload queue).
+     * Pixels arrive decoded, so this is only the Texture.upload; an existing
+     * texture of the variant is overwritten in place.
+     */
+    private void uploadIcon(String key) {
+        DecodedIcon icon = decodedIcons.remove(key);
+        if (icon == null) return;
 
-        for (int i = 0; i < pixels.length; i++) {
-            int color = pixels[i];
-            bytes[i * 4] = (byte) ((color >> 16) & 0xFF);
-            bytes[i * 4 + 1] = (byte) ((color >> 8) & 0xFF);
-            bytes[i * 4 + 2] = (byte) (color & 0xFF);
-            bytes[i * 4 + 3] = (byte) ((color >> 24) & 0xFF);
+        Texture existing = textureCache.get(key);
+        if (existing != null) {
+            existing.upload(icon.rgba());
+        } else {
+            textureCache.put(key, createTexture(icon), (long) icon.size() * icon.size() * 4);
         }
+        decoder.release(icon);
+    }
 
-        texture.upload(bytes);
-
-        if (image != sourceImage) {
-            image.close();
-        }
+    private void closePlaceholderTextures() {
+        placeholderTextures.values().forEach(Texture::close);
+        placeholderTextures.clear();
+    }
 
+    private Texture createTexture(DecodedIcon icon) {
+        Texture texture = new Texture(icon.size(), icon.size(), GpuFormat.RGBA8_UNORM, FilterMode.LINEAR,
+                FilterMode.LINEAR);
+        texture.upload(icon.rgba());
         return texture;
     }
 
     private Texture createDefaultTexture(int size) {
         Texture texture = new Texture(size, size, GpuFormat.RGBA8_UNORM, FilterMode.LINEAR, FilterMode.LINEAR);
 
-        byte[] pixels = new byte[size * size * 4];
-        for (int i = 0; i < pixels.length; i += 4) {
-            pixels[i] = (byte) 128; // R
-            pixels[i + 1] = (byte) 128; // G
-            pixels[i + 2] = (byte) 128; // B
-            pixels[i + 3] = (byte) 255; // A
-        }
-
+        ByteBuffer pixels = decoder.getBufferPool().acquire(size * size * 4);
+        PixelConverter.fill(pixels, size * size, 128, 128, 128, 255);
         texture.upload(pixels);
+        decoder.getBufferPool().release(pixels);
         return texture;
     }
 
+    /**
+     * Drop cached icon bytes, pending uploads and all icon textures.
+     */
     public void clearCache() {
-        iconDataCache.clear();
+        iconData.clear();
+        iconIndex.clear();
+        decodedIcons.values().forEach(decoder::release);
+        decodedIcons.clear();
+        failureCache.clear();
+        jarsWithoutIcon.clear();
+        requestedVariants.clear();
+        uploadQueue.clear();
+        placeholders.clear();
+        mc.execute(() -> {
+            textureCache.clear();
+            closePlaceholderTextures();
+        });
         MeteorAddonsAddon.LOG.info("Icon cache cleared");
     }
 
     @Override
     public CompoundTag toTag() {
-        return new CompoundTag();
+        CompoundTag tag = new CompoundTag();
+        tag.putInt("uploadBudgetMs", uploadBudgetMs);
+        tag.putLong("gpuBudgetBytes", textureCache.getBudgetBytes());
+        tag.putLong("rawIconBudgetBytes", iconData.getBudgetBytes());
+
+        ListTag failures = new ListTag();
+        for (Map.Entry<String, IconFailureCache.Failure> entry : failureCache.snapshot().entrySet()) {
+            IconFailureCache.Failure failure = entry.getValue();
+            CompoundTag failureTag = new CompoundTag();
+            failureTag.putString("id", entry.getKey());
+            failureTag.putString("reason", failure.reason().name());
+            failureTag.putInt("count", failure.count());
+            failureTag.putLong("retryAt", failure.retryAtMillis());
+            if (failure.url() != null) failureTag.putString("url", failure.url());
+            failures.add(failureTag);
+        }
+        tag.put("iconFailures", failures);
+
+        CompoundTag placeholderTag = new CompoundTag();
+        placeholders.forEach(placeholderTag::putByteArray);
+        tag.put("placeholders", placeholderTag);
+        return tag;
     }
 
     @Override
     public IconPreloadSystem fromTag(CompoundTag tag) {
+        uploadBudgetMs = Math.max(1, tag.getIntOr("uploadBudgetMs", IconPipelineConfig.UPLOAD_BUDGET_MS));
+        textureCache.setBudgetBytes(Math.max(IconPipelineConfig.MIN_GPU_BUDGET_BYTES,
+                tag.getLongOr("gpuBudgetBytes", IconPipelineConfig.GPU_BUDGET_BYTES)));
+        iconData.setBudgetBytes(Math.max(0, tag.getLongOr("rawIconBudgetBytes", IconPipelineConfig.RAW_ICON_BUDGET_BYTES)));
+
+        failureCache.clear();
+        for (Tag element : tag.getListOrEmpty("iconFailures")) {
+            if (!(element instanceof CompoundTag failureTag)) continue;
+            try {
+                failureCache.restore(failureTag.getStringOr("id", ""), new IconFailureCache.Failure(
+                        IconFailureCache.Reason.valueOf(failureTag.getStringOr("reason", "")),
+                        failureTag.getIntOr("count", 1),
+                        failureTag.getLongOr("retryAt", 0L),
+                        failureTag.getString("url").orElse(null)));
+            } catch (IllegalArgumentException ignored) {
+                // Unknown reason from another version, drop the entry
+            }
+        }
+
+        placeholders.clear();
+        CompoundTag placeholderTag = tag.getCompoundOrEmpty("placeholders");
+        for (String addonId : placeholderTag.keySet()) {
+            placeholderTag.getByteArray(addonId)
+                .filter(thumbnail -> thumbnail.length == IconPlaceholder.BYTES)
+                .ifPresent(thumbnail -> placeholders.put(addonId, thumbnail));
+        }
         return this;
     }
+
+    private record InstalledIconSource(InstalledAddon addon, InstalledIconCache.Source source) {
+    }
 }
@@ -5,11 +5,12 @@ import com.cope.meteoraddons.addons.Addon;
 import com.cope.meteoraddons.addons.InstalledAddon;
 import com.cope.meteoraddons.models.AddonMetadata;
 import com.cope.meteoraddons.models.UpdateInfo;
+import com.cope.meteoraddons.network.RequestPriority;
+import com.cope.meteoraddons.network.RequestScheduler;
 import com.cope.meteoraddons.util.GitHubReleaseAPI;
 import com.cope.meteoraddons.util.HashUtil;
 import meteordevelopment.meteorclient.systems.System;
 import meteordevelopment.meteorclient.systems.Systems;
-import meteordevelopment.meteorclient.utils.network.MeteorExecutor;
 import net.minecraft.nbt.CompoundTag;
 
 import java.nio.file.Path;
@@ -74,7 +75,7 @@ public class UpdateChecker extends System<UpdateChecker> {
         checkComplete.set(false);
         availableUpdates.clear();
 
-        MeteorExecutor.execute(() -> {
+        RequestScheduler.get().execute(RequestPriority.BACKGROUND, () -> {
             try {
                 doUpdateCheck();
             } catch (Exception e) {
@@ -157,7 +158,7 @@ public class UpdateChecker extends System<UpdateChecker> {
         String[] ownerRepo = parsed.get();
 
         // Get local JAR path
-        Path localJarPath = getJarPath(installed);
+        Path localJarPath = installed.getJarPath();
         if (localJarPath == null) {
             MeteorAddonsAddon.LOG.debug("Could not determine JAR path for {}", name);
             return;
@@ -218,39 +219,6 @@ public class UpdateChecker extends System<UpdateChecker> {
         }
     }
 
-    /**
-     * Get the JAR file path for an installed addon.
-     */
-    private Path getJarPath(InstalledAddon addon) {
-        try {
-            // Use getRootPaths() and navigate to the actual JAR
-            List<Path> rootPaths = addon.getModContainer().getRootPaths();
-            if (!rootPaths.isEmpty()) {
-                Path rootPath = rootPaths.get(0);
-                // getRootPaths returns paths inside the JAR, we need to get the JAR itself
-                // The path looks like: jar:file:/path/to/mod.jar!/
-                // Convert to the actual JAR path
-                String pathStr = rootPath.toUri().toString();
-
-                if (pathStr.startsWith("jar:file:")) {
-                    // Extract JAR path from jar:file:/path/to/mod.jar!/
-                    int exclamation = pathStr.indexOf('!');
-                    if (exclamation > 0) {
-                        String jarUriStr = pathStr.substring(4, exclamation); // Get "file:/path/to/mod.jar"
-                        java.net.URI jarUri = new java.net.URI(jarUriStr);
-                        return Path.of(jarUri);
-                    }
-                } else if (pathStr.endsWith(".jar")) {
-                    return rootPath;
-                }
-            }
-        } catch (Exception e) {
-            MeteorAddonsAddon.LOG.debug("Failed to get JAR path for {}: {}", addon.getName(), e.getMessage());
-        }
-
-        return null;
-    }
-
     /**
      * Get the list of available updates (may be empty if check not complete).
      */
@@ -2,6 +2,8 @@ package com.cope.meteoraddons.systems;
 
 import com.cope.meteoraddons.MeteorAddonsAddon;
 import com.cope.meteoraddons.models.UpdateInfo;
+import com.cope.meteoraddons.network.RequestPriority;
+import com.cope.meteoraddons.network.RequestScheduler;
 import com.cope.meteoraddons.util.HashUtil;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -54,43 +56,10 @@ public class UpdateDownloadManager {
      * Download a single update with progress tracking.
      */
     public void downloadUpdate(UpdateInfo update, ProgressCallback onProgress, CompletionCallback onComplete) {
-        if (isDownloading) {
-            onComplete.onComplete(false, "Another download is in progress");
-            return;
-        }
+        if (!startDownload(update, onComplete)) return;
 
-        isDownloading = true;
-        currentDownload = update;
-        currentBytesDownloaded = 0;
-        currentTotalBytes = 0;
-
-        new Thread(() -> {
-            try {
-                Path tempFile = downloadWithProgress(update, onProgress);
-
-                // Verify hash
-                String downloadedHash = HashUtil.computeSha256(tempFile);
-                if (downloadedHash == null || !HashUtil.hashesMatch(downloadedHash, update.getRemoteHash())) {
-                    Files.deleteIfExists(tempFile);
-                    onComplete.onComplete(false, "Hash verification failed");
-                    return;
-                }
-
-                // Stage the update
-                StagedUpdate staged = new StagedUpdate(update, tempFile);
-                stagedUpdates.add(staged);
-
-                MeteorAddonsAddon.LOG.info("Successfully downloaded and staged update for {}", update.getAddonName());
-                onComplete.onComplete(true, null);
-
-            } catch (Exception e) {
-                MeteorAddonsAddon.LOG.error("Failed to download update for {}", update.getAddonName(), e);
-                onComplete.onComplete(false, e.getMessage());
-            } finally {
-                isDownloading = false;
-                currentDownload = null;
-            }
-        }, "UpdateDownload-" + update.getAddonName()).start();
+        RequestScheduler.get().execute(RequestPriority.USER_INITIATED,
+                () -> runDownload(update, onProgress, onComplete));
     }
 
     /**
@@ -101,7 +70,8 @@ public class UpdateDownloadManager {
             BiConsumer<UpdateInfo, Double> onIndividualProgress,
             BiConsumer<Integer, Integer> onOverallProgress,
             CompletionCallback onComplete) {
-        new Thread(() -> {
+        // One request for the whole batch, so it holds a single USER_INITIATED slot
+        RequestScheduler.get().execute(RequestPriority.USER_INITIATED, () -> {
             int completed = 0;
             List<String> errors = new ArrayList<>();
 
@@ -134,33 +104,55 @@ public class UpdateDownloadManager {
             } else {
                 onComplete.onComplete(false, String.join("\n", errors));
             }
-        }, "UpdateDownloadBatch").start();
+        });
     }
 
     /**
-     * Blocking download with progress.
+     * Blocking download with progress, on the calling thread.
      */
     private void downloadUpdateBlocking(UpdateInfo update, ProgressCallback onProgress, CompletionCallback onComplete) {
-        Object lock = new Object();
-        boolean[] done = { false };
-
-        downloadUpdate(update, onProgress, (success, error) -> {
-            synchronized (lock) {
-                done[0] = true;
-                onComplete.onComplete(success, error);
-                lock.notifyAll();
-            }
-        });
+        if (!startDownload(update, onComplete)) return;
+        runDownload(update, onProgress, onComplete);
+    }
 
-        synchronized (lock) {
-            while (!done[0]) {
-                try {
-                    lock.wait();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                }
+    private synchronized boolean startDownload(UpdateInfo update, CompletionCallback onComplete) {
+        if (isDownloading) {
+            onComplete.onComplete(false, "Another download is in progress");
+            return false;
+        }
+
+        isDownloading = true;
+        currentDownload = update;
+        currentBytesDownloaded = 0;
+        currentTotalBytes = 0;
+        return true;
+    }
+
+    private void runDownload(UpdateInfo update, ProgressCallback onProgress, CompletionCallback onComplete) {
+        try {
+            Path tempFile = downloadWithProgress(update, onProgress);
+
+            // Verify hash
+            String downloadedHash = HashUtil.computeSha256(tempFile);
+            if (downloadedHash == null || !HashUtil.hashesMatch(downloadedHash, update.getRemoteHash())) {
+                Files.deleteIfExists(tempFile);
+                onComplete.onComplete(false, "Hash verification failed");
+                return;
             }
+
+            // Stage the update
+            StagedUpdate staged = new StagedUpdate(update, tempFile);
+            stagedUpdates.add(staged);
+
+            MeteorAddonsAddon.LOG.info("Successfully downloaded and staged update for {}", update.getAddonName());
+            onComplete.onComplete(true, null);
+
+        } catch (Exception e) {
+            MeteorAddonsAddon.LOG.error("Failed to download update for {}", update.getAddonName(), e);
+            onComplete.onComplete(false, e.getMessage());
+        } finally {
+            isDownloading = false;
+            currentDownload = null;
         }
     }
 
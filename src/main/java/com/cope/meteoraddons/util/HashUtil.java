@@ -10,7 +10,7 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 
 /**
- * Utility for computing SHA256 hashes of files.
+ * Utility for computing SHA256 hashes of files and data.
  */
 public class HashUtil {
     private static final int BUFFER_SIZE = 8192;
@@ -40,6 +40,21 @@ public class HashUtil {
         }
     }
 
+    /**
+     * Compute SHA256 hash of in-memory data.
+     *
+     * @param data Bytes to hash
+     * @return SHA256 hash as hex string
+     */
+    public static String computeSha256(byte[] data) {
+        try {
+            return bytesToHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
     /**
      * Parse SHA256 hash from GitHub's digest format.
      * GitHub returns: "sha256:abc123..."
@@ -37,7 +37,7 @@ public class HttpClient {
     private static <T> T executeRequest(Request request, ResponseHandler<T> handler) throws IOException {
         try (Response response = client.newCall(request).execute()) {
             if (!response.isSuccessful()) {
-                throw new IOException("HTTP request failed: " + response.code() + " " + response.message());
+                throw new HttpStatusException(response.code(), response.message());
             }
 
             ResponseBody body = response.body();
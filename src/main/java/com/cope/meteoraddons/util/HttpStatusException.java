@@ -0,0 +1,19 @@
+package com.cope.meteoraddons.util;
+
+import java.io.IOException;
+
+/**
+ * Thrown by HttpClient when the server answers with a non-2xx status.
+ */
+public class HttpStatusException extends IOException {
+    private final int statusCode;
+
+    public HttpStatusException(int statusCode, String message) {
+        super("HTTP request failed: " + statusCode + " " + message);
+        this.statusCode = statusCode;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
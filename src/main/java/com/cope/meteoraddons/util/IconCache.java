@@ -4,35 +4,25 @@ import com.cope.meteoraddons.addons.Addon;
 import com.cope.meteoraddons.systems.IconPreloadSystem;
 import meteordevelopment.meteorclient.renderer.Texture;
 
-import java.io.InputStream;
-import java.util.Optional;
-
 /**
  * Icon cache - delegates to IconPreloadSystem for instant lookups.
  */
 public final class IconCache {
+    /**
+     * Current icon texture, or the default texture while the icon loads.
+     * Never blocks; a missing icon is fetched in the background.
+     */
     public static Texture get(Addon addon) {
-        String addonId = addon.getId();
-        Texture texture = IconPreloadSystem.get().getTexture(addonId);
-
-        if (texture == null) {
-            try {
-                Optional<InputStream> iconStream = addon.getIconStream();
-                if (iconStream.isPresent()) {
-                    texture = IconPreloadSystem.get().loadTextureFromStream(addonId, iconStream.get());
-                }
-            } catch (Exception e) {
-            }
-        }
+        IconPreloadSystem icons = IconPreloadSystem.get();
+        Texture texture = icons.getTexture(addon.getId());
+        if (texture != null) return texture;
 
-        if (texture == null) {
-            texture = IconPreloadSystem.get().getDefaultTexture();
-        }
-
-        return texture;
+        icons.requestIcon(addon);
+        return icons.getDefaultTexture();
     }
-    public static Texture getInstalledIndicator() {
-        return IconPreloadSystem.get().getInstalledIndicator();
+
+    public static Texture getInstalledIndicator(double size) {
+        return IconPreloadSystem.get().getInstalledIndicator(size);
     }
 
     public static void clear() {
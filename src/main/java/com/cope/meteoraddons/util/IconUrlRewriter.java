@@ -0,0 +1,110 @@
+package com.cope.meteoraddons.util;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Rewrites icon URLs of image hosts that can serve a smaller rendition, so
+ * icons are not downloaded at full size only to be downscaled locally.
+ * URLs of unknown hosts, and anything that fails to parse, are returned unchanged.
+ */
+public final class IconUrlRewriter {
+    private IconUrlRewriter() {
+    }
+
+    /**
+     * @param url  Icon URL from the addon metadata
+     * @param size Largest edge in pixels the icon is drawn at
+     * @return a URL for a rendition of at least that size, or the original URL
+     */
+    public static String rewrite(String url, int size) {
+        if (url == null || url.isEmpty() || size <= 0) return url;
+
+        URI uri;
+        try {
+            uri = new URI(url);
+        } catch (URISyntaxException e) {
+            return url;
+        }
+
+        String host = uri.getHost();
+        String path = uri.getRawPath();
+        if (host == null || path == null) return url;
+        host = host.toLowerCase(Locale.ROOT);
+
+        // GitHub user/org avatars: https://avatars.githubusercontent.com/u/123?v=4
+        if (host.equals("avatars.githubusercontent.com")) {
+            return withQueryParam(uri, "s", String.valueOf(size));
+        }
+
+        // Profile shortcut: https://github.com/<user>.png redirects to the avatar
+        if (host.equals("github.com") && path.matches("/[^/]+\\.png")) {
+            return withQueryParam(uri, "size", String.valueOf(size));
+        }
+
+        // Discord CDN only accepts powers of two
+        if (host.equals("cdn.discordapp.com") || host.equals("media.discordapp.net")) {
+            return withQueryParam(uri, "size", String.valueOf(nextPowerOfTwo(Math.max(16, size))));
+        }
+
+        // https://www.gravatar.com/avatar/<hash>
+        if ((host.equals("gravatar.com") || host.endsWith(".gravatar.com")) && path.startsWith("/avatar/")) {
+            return withQueryParam(uri, "s", String.valueOf(size));
+        }
+
+        if (host.equals("i.imgur.com")) {
+            return imgurThumbnail(uri, size);
+        }
+        return url;
+    }
+
+    /**
+     * Imgur serves thumbnails by appending a letter to the image id:
+     * t = 160px and m = 320px, both keeping the aspect ratio.
+     */
+    private static String imgurThumbnail(URI uri, int size) {
+        String path = uri.getRawPath();
+        int slash = path.lastIndexOf('/');
+        int dot = path.lastIndexOf('.');
+        if (slash != 0 || dot < 0) return uri.toString();
+
+        String id = path.substring(1, dot);
+        // Ids are 5 or 7 characters; anything longer already carries a suffix
+        if (id.length() != 5 && id.length() != 7) return uri.toString();
+
+        String suffix;
+        if (size <= 160) suffix = "t";
+        else if (size <= 320) suffix = "m";
+        else return uri.toString();
+
+        return uri.getScheme() + "://" + uri.getRawAuthority()
+            + "/" + id + suffix + path.substring(dot)
+            + (uri.getRawQuery() != null ? "?" + uri.getRawQuery() : "");
+    }
+
+    /**
+     * Set a query parameter, replacing any existing value.
+     */
+    static String withQueryParam(URI uri, String name, String value) {
+        List<String> params = new ArrayList<>();
+        String query = uri.getRawQuery();
+        if (query != null && !query.isEmpty()) {
+            for (String param : query.split("&")) {
+                if (param.isEmpty() || param.equals(name) || param.startsWith(name + "=")) continue;
+                params.add(param);
+            }
+        }
+        params.add(name + "=" + value);
+
+        String base = uri.getScheme() + "://" + uri.getRawAuthority() + uri.getRawPath();
+        String fragment = uri.getRawFragment() != null ? "#" + uri.getRawFragment() : "";
+        return base + "?" + String.join("&", params) + fragment;
+    }
+
+    private static int nextPowerOfTwo(int value) {
+        return Integer.highestOneBit(value - 1) << 1;
+    }
+}
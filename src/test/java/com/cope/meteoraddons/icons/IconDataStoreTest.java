@@ -0,0 +1,77 @@
+package com.cope.meteoraddons.icons;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IconDataStore")
+class IconDataStoreTest {
+
+    @Test
+    @DisplayName("Holds icons strongly within the budget")
+    void withinBudget() {
+        IconDataStore store = new IconDataStore(100);
+        byte[] a = new byte[40];
+        byte[] b = new byte[40];
+        store.put("a", a);
+        store.put("b", b);
+
+        assertSame(a, store.get("a"));
+        assertSame(b, store.get("b"));
+        assertEquals(80, store.getStrongBytes());
+        assertEquals(2, store.getStrongCount());
+    }
+
+    @Test
+    @DisplayName("Demotes least recently used icons past the budget")
+    void demotesPastBudget() {
+        IconDataStore store = new IconDataStore(100);
+        store.put("a", new byte[40]);
+        store.put("b", new byte[40]);
+        store.get("a");
+        store.put("c", new byte[40]);
+
+        assertEquals(80, store.getStrongBytes());
+        assertEquals(2, store.getStrongCount());
+        // "b" was least recently used; it is only softly held now
+        assertTrue(store.contains("b"));
+    }
+
+    @Test
+    @DisplayName("demote() stops counting an icon against the budget")
+    void demoteReleasesBudget() {
+        IconDataStore store = new IconDataStore(100);
+        store.put("a", new byte[40]);
+        store.demote("a");
+
+        assertEquals(0, store.getStrongBytes());
+        assertEquals(0, store.getStrongCount());
+    }
+
+    @Test
+    @DisplayName("Replacing an icon updates the byte count")
+    void replaceUpdatesBytes() {
+        IconDataStore store = new IconDataStore(100);
+        store.put("a", new byte[40]);
+        store.put("a", new byte[10]);
+
+        assertEquals(10, store.getStrongBytes());
+    }
+
+    @Test
+    @DisplayName("remove() and clear() forget icons entirely")
+    void removeAndClear() {
+        IconDataStore store = new IconDataStore(100);
+        store.put("a", new byte[10]);
+        store.put("b", new byte[10]);
+        store.demote("b");
+
+        store.remove("a");
+        assertNull(store.get("a"));
+
+        store.clear();
+        assertNull(store.get("b"));
+        assertEquals(0, store.getStrongBytes());
+    }
+}
@@ -0,0 +1,141 @@
+package com.cope.meteoraddons.icons;
+
+import com.cope.meteoraddons.icons.IconFailureCache.Reason;
+import com.cope.meteoraddons.util.HttpStatusException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IconFailureCache")
+class IconFailureCacheTest {
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private IconFailureCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new IconFailureCache(now::get);
+    }
+
+    @Nested
+    @DisplayName("isBlocked()")
+    class IsBlocked {
+
+        @Test
+        @DisplayName("Unknown icons are not blocked")
+        void unknownIconNotBlocked() {
+            assertFalse(cache.isBlocked("addon"));
+        }
+
+        @Test
+        @DisplayName("Blocked for the reason's TTL after one failure")
+        void blockedForTtl() {
+            cache.recordFailure("addon", Reason.TIMEOUT);
+
+            now.addAndGet(Reason.TIMEOUT.ttlMillis - 1);
+            assertTrue(cache.isBlocked("addon"));
+
+            now.addAndGet(1);
+            assertFalse(cache.isBlocked("addon"));
+        }
+
+        @Test
+        @DisplayName("clear() unblocks an icon")
+        void clearUnblocks() {
+            cache.recordFailure("addon", Reason.NOT_FOUND);
+            cache.clear("addon");
+            assertFalse(cache.isBlocked("addon"));
+        }
+
+        @Test
+        @DisplayName("A changed icon URL is not blocked")
+        void changedUrlNotBlocked() {
+            cache.recordFailure("addon", "https://example.com/old.png", Reason.NOT_FOUND);
+
+            assertTrue(cache.isBlocked("addon", "https://example.com/old.png"));
+            assertFalse(cache.isBlocked("addon", "https://example.com/new.png"));
+            assertFalse(cache.isBlocked("addon"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Backoff")
+    class Backoff {
+
+        @Test
+        @DisplayName("Doubles with each consecutive failure")
+        void doublesPerFailure() {
+            long start = now.get();
+            IconFailureCache.Failure first = cache.recordFailure("addon", Reason.HTTP_ERROR);
+            IconFailureCache.Failure second = cache.recordFailure("addon", Reason.HTTP_ERROR);
+            IconFailureCache.Failure third = cache.recordFailure("addon", Reason.HTTP_ERROR);
+
+            assertEquals(1, first.count());
+            assertEquals(3, third.count());
+            assertEquals(start + Reason.HTTP_ERROR.ttlMillis, first.retryAtMillis());
+            assertEquals(start + 2 * Reason.HTTP_ERROR.ttlMillis, second.retryAtMillis());
+            assertEquals(start + 4 * Reason.HTTP_ERROR.ttlMillis, third.retryAtMillis());
+        }
+
+        @Test
+        @DisplayName("Restarts when the icon URL changes")
+        void restartsForNewUrl() {
+            cache.recordFailure("addon", "https://example.com/old.png", Reason.HTTP_ERROR);
+            cache.recordFailure("addon", "https://example.com/old.png", Reason.HTTP_ERROR);
+            IconFailureCache.Failure moved = cache.recordFailure("addon", "https://example.com/new.png", Reason.HTTP_ERROR);
+
+            assertEquals(1, moved.count());
+            assertEquals("https://example.com/new.png", moved.url());
+        }
+
+        @Test
+        @DisplayName("Is capped at MAX_BACKOFF_MILLIS")
+        void capped() {
+            assertEquals(IconFailureCache.MAX_BACKOFF_MILLIS, IconFailureCache.backoffMillis(Reason.DECODE, 50));
+        }
+
+        @Test
+        @DisplayName("snapshot() drops entries long past their block")
+        void snapshotDropsStaleEntries() {
+            cache.recordFailure("old", Reason.NETWORK);
+            now.addAndGet(Reason.NETWORK.ttlMillis + IconFailureCache.MAX_BACKOFF_MILLIS + 1);
+            cache.recordFailure("new", Reason.NETWORK);
+
+            assertEquals(1, cache.snapshot().size());
+            assertNotNull(cache.get("new"));
+            assertNull(cache.get("old"));
+        }
+    }
+
+    @Nested
+    @DisplayName("classifyFetchError()")
+    class Classify {
+
+        @Test
+        void notFound() {
+            assertEquals(Reason.NOT_FOUND, IconFailureCache.classifyFetchError(new HttpStatusException(404, "Not Found")));
+            assertEquals(Reason.NOT_FOUND, IconFailureCache.classifyFetchError(new HttpStatusException(410, "Gone")));
+        }
+
+        @Test
+        void otherStatus() {
+            assertEquals(Reason.HTTP_ERROR, IconFailureCache.classifyFetchError(new HttpStatusException(429, "Too Many Requests")));
+        }
+
+        @Test
+        void timeout() {
+            assertEquals(Reason.TIMEOUT, IconFailureCache.classifyFetchError(new SocketTimeoutException("timeout")));
+        }
+
+        @Test
+        void network() {
+            assertEquals(Reason.NETWORK, IconFailureCache.classifyFetchError(new IOException("Connection reset")));
+        }
+    }
+}
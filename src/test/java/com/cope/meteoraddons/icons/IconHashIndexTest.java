@@ -0,0 +1,64 @@
+package com.cope.meteoraddons.icons;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IconHashIndex")
+class IconHashIndexTest {
+    private final IconHashIndex index = new IconHashIndex();
+
+    @Test
+    @DisplayName("Addons with the same image share one hash")
+    void sharesHash() {
+        assertNull(index.assign("a", "h1"));
+        assertNull(index.assign("b", "h1"));
+
+        assertEquals(2, index.refCount("h1"));
+        assertEquals(Set.of("a", "b"), index.idsOf("h1"));
+        assertEquals(2, index.addonCount());
+        assertEquals(1, index.uniqueCount());
+    }
+
+    @Test
+    @DisplayName("Reassigning the last reference orphans the old hash")
+    void reassignOrphans() {
+        index.assign("a", "h1");
+        assertEquals("h1", index.assign("a", "h2"));
+        assertEquals(0, index.refCount("h1"));
+        assertEquals("h2", index.hashOf("a"));
+    }
+
+    @Test
+    @DisplayName("A hash still referenced by another addon is not orphaned")
+    void sharedHashNotOrphaned() {
+        index.assign("a", "h1");
+        index.assign("b", "h1");
+
+        assertNull(index.assign("a", "h2"));
+        assertEquals(1, index.refCount("h1"));
+    }
+
+    @Test
+    @DisplayName("Assigning the same hash again changes nothing")
+    void sameHashIsNoOp() {
+        index.assign("a", "h1");
+        assertNull(index.assign("a", "h1"));
+        assertEquals(1, index.refCount("h1"));
+    }
+
+    @Test
+    @DisplayName("remove() returns the hash once unreferenced")
+    void removeReturnsOrphan() {
+        index.assign("a", "h1");
+        index.assign("b", "h1");
+
+        assertNull(index.remove("a"));
+        assertEquals("h1", index.remove("b"));
+        assertNull(index.hashOf("b"));
+        assertEquals(0, index.uniqueCount());
+    }
+}
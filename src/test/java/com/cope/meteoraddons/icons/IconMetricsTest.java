@@ -0,0 +1,138 @@
+package com.cope.meteoraddons.icons;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IconMetrics")
+class IconMetricsTest {
+    private static final long MILLIS = 1_000_000L;
+
+    private IconMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new IconMetrics();
+    }
+
+    @Nested
+    @DisplayName("downloads")
+    class Downloads {
+
+        @Test
+        @DisplayName("sums bytes and averages time")
+        void totals() {
+            metrics.recordDownload("a.com", 1000, 10 * MILLIS);
+            metrics.recordDownload("b.com", 500, 30 * MILLIS);
+
+            assertEquals(1500, metrics.getBytesDownloaded());
+            assertEquals(2, metrics.getDownloadCount());
+            assertEquals(20.0, metrics.getAverageDownloadMillis(), 1e-9);
+        }
+
+        @Test
+        @DisplayName("lists hosts slowest first, averaging only completed requests")
+        void hosts() {
+            metrics.recordDownload("fast.com", 100, 5 * MILLIS);
+            metrics.recordDownload("slow.com", 100, 80 * MILLIS);
+            metrics.recordDownload("slow.com", 100, 40 * MILLIS);
+            metrics.recordDownloadFailure("slow.com");
+
+            List<IconMetrics.HostSnapshot> hosts = metrics.getHosts();
+            assertEquals(2, hosts.size());
+
+            IconMetrics.HostSnapshot slow = hosts.get(0);
+            assertEquals("slow.com", slow.host());
+            assertEquals(3, slow.requests());
+            assertEquals(1, slow.failures());
+            assertEquals(200, slow.bytes());
+            assertEquals(60.0, slow.averageMillis(), 1e-9);
+            assertEquals("fast.com", hosts.get(1).host());
+        }
+
+        @Test
+        @DisplayName("a host with only failures averages zero")
+        void onlyFailures() {
+            metrics.recordDownloadFailure("down.com");
+            assertEquals(0.0, metrics.getHosts().get(0).averageMillis());
+        }
+    }
+
+    @Nested
+    @DisplayName("caches and timing")
+    class CachesAndTiming {
+
+        @Test
+        @DisplayName("counts hits and misses per cache")
+        void lookups() {
+            metrics.recordTextureLookup(true);
+            metrics.recordTextureLookup(true);
+            metrics.recordTextureLookup(false);
+            metrics.recordDiskLookup(false);
+            metrics.recordRawDataLookup(true);
+
+            assertEquals(2, metrics.getTextureHits());
+            assertEquals(1, metrics.getTextureMisses());
+            assertEquals(0, metrics.getDiskHits());
+            assertEquals(1, metrics.getDiskMisses());
+            assertEquals(1, metrics.getRawDataHits());
+            assertEquals(0, metrics.getRawDataMisses());
+        }
+
+        @Test
+        @DisplayName("ignores frames that uploaded nothing")
+        void uploadFrames() {
+            metrics.recordUploadFrame(0, 50 * MILLIS);
+            metrics.recordUploadFrame(3, 2 * MILLIS);
+            metrics.recordUploadFrame(1, 4 * MILLIS);
+
+            assertEquals(4, metrics.getUploadCount());
+            assertEquals(3.0, metrics.getAverageFrameUploadMillis(), 1e-9);
+            assertEquals(4.0, metrics.getMaxFrameUploadMillis(), 1e-9);
+        }
+
+        @Test
+        @DisplayName("averages decode time")
+        void decodes() {
+            assertEquals(0.0, metrics.getAverageDecodeMillis());
+            metrics.recordDecode(2 * MILLIS);
+            metrics.recordDecode(6 * MILLIS);
+
+            assertEquals(2, metrics.getDecodeCount());
+            assertEquals(4.0, metrics.getAverageDecodeMillis(), 1e-9);
+        }
+    }
+
+    @Test
+    @DisplayName("counts failures by reason")
+    void failures() {
+        metrics.recordFailure(IconFailureCache.Reason.TIMEOUT);
+        metrics.recordFailure(IconFailureCache.Reason.TIMEOUT);
+        metrics.recordFailure(IconFailureCache.Reason.DECODE);
+
+        assertEquals(2, metrics.getFailureCount(IconFailureCache.Reason.TIMEOUT));
+        assertEquals(1, metrics.getFailureCount(IconFailureCache.Reason.DECODE));
+        assertEquals(0, metrics.getFailureCount(IconFailureCache.Reason.NOT_FOUND));
+    }
+
+    @Test
+    @DisplayName("reset() zeroes every counter")
+    void reset() {
+        metrics.recordDownload("a.com", 100, MILLIS);
+        metrics.recordUploadFrame(1, MILLIS);
+        metrics.recordFailure(IconFailureCache.Reason.NETWORK);
+
+        metrics.reset();
+
+        assertEquals(0, metrics.getBytesDownloaded());
+        assertEquals(0, metrics.getUploadCount());
+        assertEquals(0.0, metrics.getMaxFrameUploadMillis());
+        assertEquals(0, metrics.getFailureCount(IconFailureCache.Reason.NETWORK));
+        assertTrue(metrics.getHosts().isEmpty());
+    }
+}
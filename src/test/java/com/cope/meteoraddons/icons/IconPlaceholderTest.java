@@ -0,0 +1,66 @@
+package com.cope.meteoraddons.icons;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IconPlaceholder")
+class IconPlaceholderTest {
+
+    private static ByteBuffer solid(int size, int r, int g, int b, int a) {
+        ByteBuffer pixels = ByteBuffer.allocate(size * size * 4);
+        for (int i = 0; i < size * size; i++) {
+            pixels.put((byte) r).put((byte) g).put((byte) b).put((byte) a);
+        }
+        return pixels.flip();
+    }
+
+    @Test
+    @DisplayName("A solid image gives a solid thumbnail")
+    void solidColor() {
+        byte[] thumbnail = IconPlaceholder.thumbnail(solid(16, 200, 100, 50, 255), 16);
+
+        assertEquals(IconPlaceholder.BYTES, thumbnail.length);
+        for (int i = 0; i < thumbnail.length; i += 4) {
+            assertEquals(200, thumbnail[i] & 0xFF);
+            assertEquals(100, thumbnail[i + 1] & 0xFF);
+            assertEquals(50, thumbnail[i + 2] & 0xFF);
+            assertEquals(255, thumbnail[i + 3] & 0xFF);
+        }
+    }
+
+    @Test
+    @DisplayName("Each block averages its own quarter of the image")
+    void blocksFollowLayout() {
+        int size = 8;
+        ByteBuffer pixels = solid(size, 0, 0, 0, 255);
+        // Paint the top-left 2x2 block white
+        for (int y = 0; y < 2; y++) {
+            for (int x = 0; x < 2; x++) {
+                int i = (y * size + x) * 4;
+                pixels.put(i, (byte) 255).put(i + 1, (byte) 255).put(i + 2, (byte) 255);
+            }
+        }
+
+        byte[] thumbnail = IconPlaceholder.thumbnail(pixels, size);
+        assertEquals(255, thumbnail[0] & 0xFF);
+        assertEquals(0, thumbnail[4] & 0xFF);
+    }
+
+    @Test
+    @DisplayName("Transparent pixels do not darken the color")
+    void alphaWeighted() {
+        int size = 8;
+        ByteBuffer pixels = solid(size, 0, 0, 0, 0);
+        // One opaque red pixel among the four in the top-left block
+        pixels.put(0, (byte) 255).put(3, (byte) 255);
+
+        byte[] thumbnail = IconPlaceholder.thumbnail(pixels, size);
+        assertEquals(255, thumbnail[0] & 0xFF);
+        assertEquals(255 / 4, thumbnail[3] & 0xFF);
+        assertEquals(0, thumbnail[7] & 0xFF);
+    }
+}
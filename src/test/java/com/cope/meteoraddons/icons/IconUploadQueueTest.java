@@ -0,0 +1,62 @@
+package com.cope.meteoraddons.icons;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IconUploadQueue")
+class IconUploadQueueTest {
+    private IconUploadQueue queue;
+    private List<String> uploaded;
+
+    @BeforeEach
+    void setUp() {
+        queue = new IconUploadQueue();
+        uploaded = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("Icons drawn last frame are uploaded first")
+    void visibleFirst() {
+        queue.enqueue("a");
+        queue.enqueue("b");
+        queue.enqueue("c");
+        queue.markVisible("c");
+
+        // A zero budget still uploads one icon per frame
+        assertEquals(1, queue.onFrame(0, uploaded::add));
+        assertEquals(List.of("c"), uploaded);
+        assertEquals(2, queue.size());
+    }
+
+    @Test
+    @DisplayName("Only the previous frame counts as visible")
+    void visibilityLastsOneFrame() {
+        queue.markVisible("a");
+        queue.onFrame(0, uploaded::add);
+        queue.onFrame(0, uploaded::add);
+
+        queue.enqueue("b");
+        queue.enqueue("a");
+        queue.markVisible("b");
+        queue.onFrame(0, uploaded::add);
+        assertEquals(List.of("b"), uploaded);
+    }
+
+    @Test
+    @DisplayName("Rendering icons never uploads on its own")
+    void uploadsOnlyOnFrames() {
+        queue.enqueue("a");
+        for (int i = 0; i < 100; i++) queue.markVisible("a");
+
+        assertTrue(queue.isPending("a"));
+        assertEquals(1, queue.onFrame(Long.MAX_VALUE / 2, uploaded::add));
+        assertFalse(queue.isPending("a"));
+        assertEquals(0, queue.onFrame(Long.MAX_VALUE / 2, uploaded::add));
+    }
+}
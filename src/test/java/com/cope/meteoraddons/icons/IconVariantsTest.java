@@ -0,0 +1,42 @@
+package com.cope.meteoraddons.icons;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IconVariants")
+class IconVariantsTest {
+
+    @ParameterizedTest(name = "{0} px → {1} px variant")
+    @CsvSource({
+        "1,     16",
+        "16,    16",
+        // Rounded before comparing, so 16.4 still fits the 16 px variant
+        "16.4,  16",
+        "17,    32",
+        "48,    64",
+        "64,    64",
+        "100,   128",
+        // Larger than every variant: use the largest
+        "512,   128",
+    })
+    void shouldPickSmallestVariantThatFits(double pixels, int expected) {
+        assertEquals(expected, IconVariants.pick(pixels));
+    }
+
+    @Test
+    @DisplayName("largest() is the last configured size")
+    void largestIsLastSize() {
+        assertEquals(128, IconVariants.largest());
+    }
+
+    @Test
+    @DisplayName("key() separates variants of the same icon")
+    void keysDifferPerSize() {
+        assertNotEquals(IconVariants.key("addon", 32), IconVariants.key("addon", 64));
+        assertEquals("addon@32", IconVariants.key("addon", 32));
+    }
+}
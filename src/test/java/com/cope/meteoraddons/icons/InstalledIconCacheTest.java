@@ -0,0 +1,99 @@
+package com.cope.meteoraddons.icons;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("InstalledIconCache")
+class InstalledIconCacheTest {
+    @TempDir
+    Path tempDir;
+
+    private final PixelBufferPool pool = new PixelBufferPool(4);
+    private InstalledIconCache cache;
+    private Path cacheDir;
+
+    @BeforeEach
+    void setUp() {
+        cacheDir = tempDir.resolve("icon-cache");
+        cache = new InstalledIconCache(cacheDir);
+    }
+
+    private static DecodedIcon icon(int size, int seed) {
+        ByteBuffer pixels = ByteBuffer.allocateDirect(size * size * 4);
+        for (int i = 0; i < pixels.capacity(); i++) pixels.put(i, (byte) (i * 31 + seed));
+        return new DecodedIcon(size, pixels);
+    }
+
+    @Test
+    @DisplayName("Stored variants load back byte for byte")
+    void roundTrip() throws IOException {
+        InstalledIconCache.Source source = new InstalledIconCache.Source(tempDir.resolve("addon.jar"), 1000L);
+        DecodedIcon stored = icon(16, 7);
+        cache.store(source, stored);
+
+        assertTrue(cache.contains(source, 16));
+        Optional<DecodedIcon> loaded = cache.load(source, 16, pool);
+        assertTrue(loaded.isPresent());
+        assertEquals(16, loaded.get().size());
+        assertEquals(0, stored.rgba().rewind().compareTo(loaded.get().rgba()));
+    }
+
+    @Test
+    @DisplayName("A changed JAR modification time misses")
+    void changedJarMisses() throws IOException {
+        Path jar = tempDir.resolve("addon.jar");
+        cache.store(new InstalledIconCache.Source(jar, 1000L), icon(32, 1));
+
+        assertFalse(cache.contains(new InstalledIconCache.Source(jar, 2000L), 32));
+        assertTrue(cache.load(new InstalledIconCache.Source(jar, 2000L), 32, pool).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Damaged files are treated as a miss and deleted")
+    void damagedFileMisses() throws IOException {
+        InstalledIconCache.Source source = new InstalledIconCache.Source(tempDir.resolve("addon.jar"), 1000L);
+        cache.store(source, icon(16, 3));
+        try (var files = Files.list(cacheDir)) {
+            Files.write(files.findFirst().orElseThrow(), new byte[] { 1, 2, 3 });
+        }
+
+        assertTrue(cache.load(source, 16, pool).isEmpty());
+        assertFalse(cache.contains(source, 16));
+    }
+
+    @Test
+    @DisplayName("prune() keeps only variants of live sources")
+    void pruneRemovesStaleSources() throws IOException {
+        InstalledIconCache.Source live = new InstalledIconCache.Source(tempDir.resolve("live.jar"), 1L);
+        InstalledIconCache.Source stale = new InstalledIconCache.Source(tempDir.resolve("stale.jar"), 1L);
+        cache.store(live, icon(16, 1));
+        cache.store(stale, icon(16, 2));
+
+        assertEquals(1, cache.prune(Set.of(live), new int[] { 16, 32 }));
+        assertTrue(cache.contains(live, 16));
+        assertFalse(cache.contains(stale, 16));
+    }
+
+    @Test
+    @DisplayName("prune() leaves files it did not write, such as variants being stored")
+    void pruneSkipsTempFiles() throws IOException {
+        Files.createDirectories(cacheDir);
+        Path writing = Files.write(cacheDir.resolve("abc.rgba.tmp"), new byte[] { 1 });
+        Path other = Files.write(cacheDir.resolve("notes.txt"), new byte[] { 1 });
+
+        assertEquals(0, cache.prune(Set.of(), new int[] { 16 }));
+        assertTrue(Files.exists(writing));
+        assertTrue(Files.exists(other));
+    }
+}
@@ -0,0 +1,218 @@
+package com.cope.meteoraddons.network;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RequestScheduler")
+class RequestSchedulerTest {
+    private static final int MAX_CONCURRENT = 3;
+
+    /**
+     * Holds started requests until the test runs them.
+     */
+    private static class ManualExecutor implements Executor {
+        private final ArrayDeque<Runnable> started = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable command) {
+            started.addLast(command);
+        }
+
+        int startedCount() {
+            return started.size();
+        }
+
+        void runNext() {
+            started.pollFirst().run();
+        }
+    }
+
+    private ManualExecutor executor;
+    private RequestScheduler scheduler;
+    private List<String> ran;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ManualExecutor();
+        scheduler = new RequestScheduler(executor, MAX_CONCURRENT);
+        ran = new ArrayList<>();
+        for (RequestPriority priority : RequestPriority.values()) {
+            scheduler.setLimit(priority, 2);
+        }
+    }
+
+    private CompletableFuture<Void> submit(RequestPriority priority, String name) {
+        return scheduler.execute(priority, name, () -> ran.add(name));
+    }
+
+    private void runAll() {
+        while (executor.startedCount() > 0) executor.runNext();
+    }
+
+    @Nested
+    @DisplayName("limits")
+    class Limits {
+
+        @Test
+        @DisplayName("starts up to the class limit and queues the rest")
+        void classLimit() {
+            submit(RequestPriority.PREFETCH, "a");
+            submit(RequestPriority.PREFETCH, "b");
+            submit(RequestPriority.PREFETCH, "c");
+
+            assertEquals(2, scheduler.getRunningCount(RequestPriority.PREFETCH));
+            assertEquals(1, scheduler.getQueuedCount(RequestPriority.PREFETCH));
+
+            executor.runNext();
+            assertEquals(2, scheduler.getRunningCount(RequestPriority.PREFETCH));
+            assertEquals(0, scheduler.getQueuedCount(RequestPriority.PREFETCH));
+
+            runAll();
+            assertEquals(List.of("a", "b", "c"), ran);
+            assertEquals(0, scheduler.getRunningCount(RequestPriority.PREFETCH));
+        }
+
+        @Test
+        @DisplayName("a class at its own limit does not hold back lower classes")
+        void lowerClassUsesFreeSlots() {
+            submit(RequestPriority.VISIBLE_UI, "v1");
+            submit(RequestPriority.VISIBLE_UI, "v2");
+            submit(RequestPriority.VISIBLE_UI, "v3");
+            submit(RequestPriority.PREFETCH, "p1");
+
+            assertEquals(1, scheduler.getRunningCount(RequestPriority.PREFETCH));
+            assertEquals(1, scheduler.getQueuedCount(RequestPriority.VISIBLE_UI));
+        }
+
+        @Test
+        @DisplayName("user-initiated requests are not counted against the shared limit")
+        void userInitiatedBypassesSharedLimit() {
+            submit(RequestPriority.BACKGROUND, "b1");
+            submit(RequestPriority.BACKGROUND, "b2");
+            submit(RequestPriority.PREFETCH, "p1");
+            submit(RequestPriority.USER_INITIATED, "u1");
+
+            assertEquals(1, scheduler.getRunningCount(RequestPriority.USER_INITIATED));
+            assertEquals(4, executor.startedCount());
+        }
+    }
+
+    @Nested
+    @DisplayName("priority")
+    class Priority {
+
+        @Test
+        @DisplayName("queued higher classes take shared slots before earlier lower ones")
+        void higherClassFirst() {
+            submit(RequestPriority.BACKGROUND, "b1");
+            submit(RequestPriority.BACKGROUND, "b2");
+            submit(RequestPriority.PREFETCH, "p1");
+            submit(RequestPriority.PREFETCH, "p2");
+            submit(RequestPriority.VISIBLE_UI, "v1");
+
+            // Shared limit reached: p2 and v1 wait, and v1 goes first
+            assertEquals(3, executor.startedCount());
+            executor.runNext();
+            assertEquals(1, scheduler.getRunningCount(RequestPriority.VISIBLE_UI));
+            assertEquals(1, scheduler.getQueuedCount(RequestPriority.PREFETCH));
+
+            runAll();
+            assertEquals(List.of("b1", "b2", "p1", "v1", "p2"), ran);
+        }
+
+        @Test
+        @DisplayName("promote() moves a queued request into a higher class")
+        void promote() {
+            submit(RequestPriority.BACKGROUND, "b1");
+            submit(RequestPriority.BACKGROUND, "b2");
+            submit(RequestPriority.PREFETCH, "p1");
+            submit(RequestPriority.PREFETCH, "p2");
+            submit(RequestPriority.PREFETCH, "p3");
+
+            assertTrue(scheduler.promote("p3", RequestPriority.VISIBLE_UI));
+            assertEquals(1, scheduler.getQueuedCount(RequestPriority.VISIBLE_UI));
+
+            runAll();
+            assertEquals(List.of("b1", "b2", "p1", "p3", "p2"), ran);
+        }
+
+        @Test
+        @DisplayName("promote() ignores running requests and lower classes")
+        void promoteIgnored() {
+            submit(RequestPriority.VISIBLE_UI, "v1");
+            assertFalse(scheduler.promote("v1", RequestPriority.USER_INITIATED));
+
+            scheduler.setLimit(RequestPriority.BACKGROUND, 1);
+            submit(RequestPriority.BACKGROUND, "b1");
+            submit(RequestPriority.BACKGROUND, "b2");
+            assertFalse(scheduler.promote("b2", RequestPriority.PREFETCH));
+            assertFalse(scheduler.promote("missing", RequestPriority.VISIBLE_UI));
+        }
+
+        @Test
+        @DisplayName("resubmitting a queued key promotes it and returns the same future")
+        void duplicateKey() {
+            scheduler.setLimit(RequestPriority.PREFETCH, 1);
+            submit(RequestPriority.PREFETCH, "p1");
+            CompletableFuture<Void> first = submit(RequestPriority.PREFETCH, "icon");
+            CompletableFuture<Void> second = submit(RequestPriority.VISIBLE_UI, "icon");
+
+            assertSame(first, second);
+            assertEquals(0, scheduler.getQueuedCount(RequestPriority.PREFETCH));
+
+            runAll();
+            assertEquals(List.of("p1", "icon"), ran);
+        }
+    }
+
+    @Nested
+    @DisplayName("completion")
+    class Completion {
+
+        @Test
+        @DisplayName("returns the request's result")
+        void result() throws Exception {
+            CompletableFuture<String> future = scheduler.submit(RequestPriority.VISIBLE_UI, null, () -> "done");
+            runAll();
+            assertEquals("done", future.get());
+        }
+
+        @Test
+        @DisplayName("a failing request completes exceptionally and frees its slot")
+        void failure() {
+            scheduler.setLimit(RequestPriority.BACKGROUND, 1);
+            CompletableFuture<Object> failed = scheduler.submit(RequestPriority.BACKGROUND, null, () -> {
+                throw new IllegalStateException("boom");
+            });
+            submit(RequestPriority.BACKGROUND, "next");
+
+            runAll();
+            ExecutionException e = assertThrows(ExecutionException.class, failed::get);
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+            assertEquals(List.of("next"), ran);
+        }
+
+        @Test
+        @DisplayName("requests cancelled while queued never run")
+        void cancelled() {
+            scheduler.setLimit(RequestPriority.BACKGROUND, 1);
+            submit(RequestPriority.BACKGROUND, "b1");
+            submit(RequestPriority.BACKGROUND, "b2").cancel(false);
+            submit(RequestPriority.BACKGROUND, "b3");
+
+            runAll();
+            assertEquals(List.of("b1", "b3"), ran);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.cope.meteoraddons.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BkTree")
+class BkTreeTest {
+
+    @ParameterizedTest(name = "{0} / {1} -> {2}")
+    @CsvSource({
+        "kitten, sitting, 3",
+        "crystal, crystl, 1",
+        "totem, totem, 0",
+        "'', abc, 3",
+        "flaw, lawn, 2"
+    })
+    void distance(String a, String b, int expected) {
+        assertEquals(expected, BkTree.distance(a, b));
+        assertEquals(expected, BkTree.distance(b, a));
+    }
+
+    @Test
+    @DisplayName("finds terms within the distance with their distance")
+    void search() {
+        String[] terms = {"auto", "autototem", "chat", "cristal", "crystal", "surround", "totem"};
+        Map<String, Integer> found = new TreeMap<>();
+        BkTree.build(terms).search("crystl", 2, (term, distance) -> found.put(terms[term], distance));
+
+        assertEquals(Map.of("crystal", 1, "cristal", 2), found);
+    }
+
+    @Test
+    @DisplayName("agrees with a linear scan")
+    void agreesWithScan() {
+        Random random = new Random(42);
+        TreeSet<String> words = new TreeSet<>();
+        while (words.size() < 400) {
+            StringBuilder word = new StringBuilder();
+            for (int i = 3 + random.nextInt(6); i > 0; i--) {
+                word.append((char) ('a' + random.nextInt(5)));
+            }
+            words.add(word.toString());
+        }
+        String[] terms = words.toArray(String[]::new);
+        BkTree tree = BkTree.build(terms);
+
+        for (int i = 0; i < 100; i++) {
+            String query = terms[random.nextInt(terms.length)].substring(1) + "e";
+            TreeSet<Integer> found = new TreeSet<>();
+            tree.search(query, 2, (term, distance) -> found.add(term));
+
+            TreeSet<Integer> expected = new TreeSet<>();
+            for (int term = 0; term < terms.length; term++) {
+                if (BkTree.distance(query, terms[term]) <= 2) expected.add(term);
+            }
+            assertEquals(expected, found, query);
+        }
+    }
+
+    @Test
+    @DisplayName("handles an empty dictionary")
+    void empty() {
+        BkTree.build(new String[0]).search("auto", 2, (term, distance) -> fail());
+    }
+
+    private static BkTree read(String[] terms, int[] edge, int[] firstChild, int[] nextSibling) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        IndexCodec.Writer out = new IndexCodec.Writer(bytes);
+        out.writeInts(edge);
+        out.writeInts(firstChild);
+        out.writeInts(nextSibling);
+        out.flush();
+        return BkTree.read(new IndexCodec.Reader(ByteBuffer.wrap(bytes.toByteArray())), terms);
+    }
+
+    @Test
+    @DisplayName("reads back what it writes")
+    void roundTrip() throws IOException {
+        String[] terms = {"auto", "autototem", "chat", "cristal", "crystal", "surround", "totem"};
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        IndexCodec.Writer out = new IndexCodec.Writer(bytes);
+        BkTree.build(terms).write(out);
+        out.flush();
+
+        Map<String, Integer> found = new TreeMap<>();
+        BkTree.read(new IndexCodec.Reader(ByteBuffer.wrap(bytes.toByteArray())), terms)
+            .search("crystl", 2, (term, distance) -> found.put(terms[term], distance));
+        assertEquals(Map.of("crystal", 1, "cristal", 2), found);
+    }
+
+    @Test
+    @DisplayName("rejects saved trees with cycles or unreachable nodes")
+    void rejectsBadShape() {
+        String[] terms = {"a", "b", "c"};
+        int[] edge = {0, 1, 1};
+        // Root is its own child
+        assertThrows(IOException.class, () -> read(terms, edge, new int[] {0, -1, -1}, new int[] {-1, -1, -1}));
+        // Siblings loop back
+        assertThrows(IOException.class, () -> read(terms, edge, new int[] {1, -1, -1}, new int[] {-1, 2, 1}));
+        // A child is linked twice
+        assertThrows(IOException.class, () -> read(terms, edge, new int[] {1, 2, -1}, new int[] {-1, 2, -1}));
+        // c hangs off nothing
+        assertThrows(IOException.class, () -> read(terms, edge, new int[] {1, -1, -1}, new int[] {-1, -1, -1}));
+        assertDoesNotThrow(() -> read(terms, edge, new int[] {1, 2, -1}, new int[] {-1, -1, -1}));
+    }
+}
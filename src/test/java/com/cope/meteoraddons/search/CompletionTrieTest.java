@@ -0,0 +1,136 @@
+package com.cope.meteoraddons.search;
+
+import com.cope.meteoraddons.addons.Addon;
+import com.cope.meteoraddons.addons.OnlineAddon;
+import com.cope.meteoraddons.models.AddonMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static com.cope.meteoraddons.search.SearchIndexTest.addon;
+import static com.cope.meteoraddons.search.SearchIndexTest.feature;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CompletionTrie")
+class CompletionTrieTest {
+    private CompletionTrie trie;
+
+    static OnlineAddon popular(OnlineAddon addon, int stars, int downloads) {
+        addon.getMetadata().repo = new AddonMetadata.Repository();
+        addon.getMetadata().repo.stars = stars;
+        addon.getMetadata().repo.downloads = downloads;
+        return addon;
+    }
+
+    @BeforeEach
+    void setUp() {
+        OnlineAddon rejects = popular(addon("Meteor Rejects", "", List.of("AntiCope"),
+            List.of("AutoTotem", "Auto Crystal"), List.of("pvp")), 500, 0);
+        rejects.getMetadata().features.commands = List.of(feature("locate", null));
+        trie = CompletionTrie.build(List.of(
+            rejects,
+            popular(addon("Orion", "", List.of("GhostTypes"), List.of("Auto Crystal", "Surround"), List.of("pvp")), 50, 10_000),
+            popular(addon("Auto Sign", "", List.of("Someone"), List.of(), List.of()), 5, 0),
+            popular(addon("Café Tools", "", List.of(), List.of(), List.of()), 1, 0)));
+    }
+
+    private List<String> suggest(String text, int limit) {
+        return trie.suggest(text, limit).stream().map(Suggestion::getText).toList();
+    }
+
+    @Test
+    @DisplayName("completes names of every kind, most popular first")
+    void byPopularity() {
+        // Auto Crystal is used by both popular addons: 501 + 151
+        assertEquals(List.of("Auto Crystal", "AutoTotem", "Auto Sign"), suggest("auto", 10));
+        assertEquals(List.of("Auto Crystal", "AutoTotem"), suggest("auto", 2));
+        assertEquals(SearchField.MODULE, trie.suggest("auto c", 1).get(0).getKind());
+    }
+
+    @Test
+    @DisplayName("completes from the start of any word, camel case included")
+    void wordStarts() {
+        assertEquals(List.of("AutoTotem"), suggest("totem", 10));
+        assertEquals(List.of("Meteor Rejects"), suggest("rej", 10));
+        assertEquals(List.of("locate"), suggest("loc", 10));
+    }
+
+    @Test
+    @DisplayName("ignores case, accents and leading spaces")
+    void folds() {
+        assertEquals(List.of("Café Tools"), suggest("  CAFE", 10));
+        assertEquals(List.of("GhostTypes"), suggest("ghost", 10));
+    }
+
+    @Test
+    @DisplayName("lists a name used by several addons once")
+    void mergesNames() {
+        assertEquals(List.of("pvp"), suggest("pv", 10));
+        assertEquals(SearchField.TAG, trie.suggest("pv", 10).get(0).getKind());
+    }
+
+    @Test
+    @DisplayName("suggests nothing for blank or unknown text")
+    void noSuggestions() {
+        assertTrue(suggest("", 10).isEmpty());
+        assertTrue(suggest("   ", 10).isEmpty());
+        assertTrue(suggest("xyz", 10).isEmpty());
+        assertTrue(suggest("auto", 0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("weighs stars and downloads")
+    void popularity() {
+        assertEquals(1, CompletionTrie.popularity(null));
+        OnlineAddon addon = popular(addon("A", "", List.of(), List.of(), List.of()), 50, 10_000);
+        assertEquals(1 + 50 + 100, CompletionTrie.popularity(addon.getMetadata()));
+    }
+
+    @Test
+    @DisplayName("returns the same top k as sorting every match")
+    void matchesBruteForce() {
+        Random random = new Random(48);
+        String[] words = {"auto", "anchor", "anti", "armor", "crystal", "craft", "surround", "sign", "totem", "trap"};
+        List<Addon> addons = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<Integer> stars = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            String name = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)] + " " + i;
+            int star = random.nextInt(50);
+            names.add(name);
+            stars.add(star);
+            addons.add(popular(addon(name, "", List.of(), List.of(), List.of()), star, 0));
+        }
+        CompletionTrie big = CompletionTrie.build(addons);
+
+        for (String prefix : List.of("a", "an", "auto", "auto c", "cr", "t", "totem tr", "sign 1")) {
+            List<String> expected = IntStream.range(0, names.size()).boxed()
+                .filter(i -> hasWordStartingWith(names.get(i), prefix))
+                .sorted(Comparator.comparingInt((Integer i) -> -stars.get(i)).thenComparingInt(i -> i))
+                .limit(8)
+                .map(names::get)
+                .toList();
+            assertEquals(expected, big.suggest(prefix, 8).stream().map(Suggestion::getText).toList(), prefix);
+        }
+    }
+
+    private static boolean hasWordStartingWith(String name, String prefix) {
+        for (int i = 0; i < name.length(); i++) {
+            if ((i == 0 || name.charAt(i - 1) == ' ') && name.startsWith(prefix, i)) return true;
+        }
+        return false;
+    }
+
+    @Test
+    @DisplayName("SearchIndex suggests from its catalog")
+    void throughIndex() {
+        SearchIndex index = SearchIndex.build(SearchIndexTest.catalog());
+        assertEquals(List.of("Surround"), index.suggest("surr", 5).stream().map(Suggestion::getText).toList());
+    }
+}
@@ -0,0 +1,159 @@
+package com.cope.meteoraddons.search;
+
+import com.cope.meteoraddons.addons.Addon;
+import com.cope.meteoraddons.addons.OnlineAddon;
+import com.cope.meteoraddons.models.AddonMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FacetIndex")
+class FacetIndexTest {
+    private static final Instant NOW = Instant.parse("2026-06-01T00:00:00Z");
+
+    private FacetIndex facets;
+
+    private static OnlineAddon addon(List<String> tags, List<String> authors, boolean verified, boolean hud,
+                                     Integer stars, boolean archived, boolean fork, int daysSinceUpdate) {
+        OnlineAddon addon = SearchIndexTest.addon("Addon", null, authors, List.of(), tags);
+        AddonMetadata m = addon.getMetadata();
+        m.verified = verified;
+        if (hud) m.features.hud_elements = List.of(SearchIndexTest.feature("Radar", null));
+        if (stars != null) {
+            m.repo = new AddonMetadata.Repository();
+            m.repo.stars = stars;
+            m.repo.archived = archived;
+            m.repo.fork = fork;
+            m.repo.last_update = NOW.minus(Duration.ofDays(daysSinceUpdate)).toString();
+        }
+        return addon;
+    }
+
+    @BeforeEach
+    void setUp() {
+        List<Addon> catalog = List.of(
+            addon(List.of("pvp", "utility"), List.of("alice"), true, true, 150, false, false, 3),
+            addon(List.of("PvP"), List.of("bob"), false, false, 5, true, false, 100),
+            addon(List.of("chat"), List.of("alice", "carol"), true, false, 1200, false, true, 40),
+            addon(List.of(), List.of("dave"), false, false, null, false, false, 0));
+        facets = FacetIndex.build(catalog, NOW);
+    }
+
+    private static List<Integer> ids(BitSet bits) {
+        return bits.stream().boxed().toList();
+    }
+
+    @Test
+    @DisplayName("groups tag spellings and lists the most common first")
+    void tagValues() {
+        assertEquals(List.of("pvp", "chat", "utility"), facets.getValues(FacetGroup.TAG));
+        assertEquals("pvp", facets.getLabel(FacetGroup.TAG, "pvp"));
+        assertEquals(List.of("alice", "bob", "carol", "dave"), facets.getValues(FacetGroup.AUTHOR));
+    }
+
+    @Nested
+    @DisplayName("filter()")
+    class Filter {
+
+        @Test
+        @DisplayName("passes everything without a selection")
+        void none() {
+            assertEquals(List.of(0, 1, 2, 3), ids(facets.filter(FacetSelection.NONE)));
+        }
+
+        @Test
+        @DisplayName("ORs values within a group")
+        void orWithinGroup() {
+            FacetSelection selection = FacetSelection.NONE
+                .toggle(FacetGroup.TAG, "utility")
+                .toggle(FacetGroup.TAG, "chat");
+            assertEquals(List.of(0, 2), ids(facets.filter(selection)));
+        }
+
+        @Test
+        @DisplayName("ANDs groups")
+        void andAcrossGroups() {
+            FacetSelection selection = FacetSelection.NONE
+                .toggle(FacetGroup.AUTHOR, "alice")
+                .toggle(FacetGroup.FORK, FacetIndex.NO);
+            assertEquals(List.of(0), ids(facets.filter(selection)));
+        }
+
+        @Test
+        @DisplayName("filters by minimum stars and recent updates")
+        void thresholds() {
+            assertEquals(List.of(0, 2), ids(facets.filter(FacetSelection.NONE.toggle(FacetGroup.STARS, "100"))));
+            assertEquals(List.of(2), ids(facets.filter(FacetSelection.NONE.toggle(FacetGroup.STARS, "1000"))));
+            assertEquals(List.of(0), ids(facets.filter(FacetSelection.NONE.toggle(FacetGroup.UPDATED, "30"))));
+            assertEquals(List.of(0, 2), ids(facets.filter(FacetSelection.NONE.toggle(FacetGroup.UPDATED, "90"))));
+        }
+
+        @Test
+        @DisplayName("leaves addons without repository data out of repository facets")
+        void missingRepository() {
+            FacetSelection active = FacetSelection.NONE.toggle(FacetGroup.ARCHIVED, FacetIndex.NO);
+            assertEquals(List.of(0, 2), ids(facets.filter(active)));
+        }
+
+        @Test
+        @DisplayName("keeps the order of the given ids")
+        void keepsOrder() {
+            FacetSelection verified = FacetSelection.NONE.toggle(FacetGroup.VERIFIED, FacetIndex.YES);
+            assertArrayEquals(new int[] {2, 0}, facets.filter(new int[] {3, 2, 1, 0}, verified));
+        }
+    }
+
+    @Nested
+    @DisplayName("count()")
+    class Count {
+
+        @Test
+        @DisplayName("counts values over the matched ids")
+        void overMatches() {
+            Map<FacetGroup, Map<String, Integer>> counts = facets.count(new int[] {0, 1}, FacetSelection.NONE);
+
+            assertEquals(2, counts.get(FacetGroup.TAG).get("pvp"));
+            assertEquals(0, counts.get(FacetGroup.TAG).get("chat"));
+            assertEquals(1, counts.get(FacetGroup.HUD).get(FacetIndex.YES));
+            assertEquals(1, counts.get(FacetGroup.ARCHIVED).get(FacetIndex.YES));
+        }
+
+        @Test
+        @DisplayName("applies other groups but not a group's own selection")
+        void otherGroups() {
+            FacetSelection selection = FacetSelection.NONE
+                .toggle(FacetGroup.TAG, "chat")
+                .toggle(FacetGroup.VERIFIED, FacetIndex.YES);
+            Map<FacetGroup, Map<String, Integer>> counts = facets.count(new int[] {0, 1, 2, 3}, selection);
+
+            // Tags count verified addons
+            assertEquals(1, counts.get(FacetGroup.TAG).get("pvp"));
+            assertEquals(1, counts.get(FacetGroup.TAG).get("chat"));
+            // Verified counts chat addons
+            assertEquals(1, counts.get(FacetGroup.VERIFIED).get(FacetIndex.YES));
+            assertEquals(0, counts.get(FacetGroup.VERIFIED).get(FacetIndex.NO));
+            // Everything else counts both
+            assertEquals(1, counts.get(FacetGroup.AUTHOR).get("alice"));
+        }
+    }
+
+    @Test
+    @DisplayName("FacetSelection.toggleOnly() replaces the group's value")
+    void toggleOnly() {
+        FacetSelection selection = FacetSelection.NONE.toggleOnly(FacetGroup.STARS, "10");
+        selection = selection.toggleOnly(FacetGroup.STARS, "100");
+        assertEquals(Set.of("100"), selection.getValues(FacetGroup.STARS));
+        assertTrue(selection.toggleOnly(FacetGroup.STARS, "100").isEmpty());
+        assertEquals(FacetSelection.NONE.toggle(FacetGroup.TAG, "a"), FacetSelection.NONE.toggle(FacetGroup.TAG, "a"));
+    }
+}
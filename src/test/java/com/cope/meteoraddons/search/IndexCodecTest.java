@@ -0,0 +1,45 @@
+package com.cope.meteoraddons.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IndexCodec")
+class IndexCodecTest {
+
+    private static IndexCodec.Reader encode(int[] values) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        IndexCodec.Writer out = new IndexCodec.Writer(bytes);
+        out.writeInts(values);
+        out.flush();
+        return new IndexCodec.Reader(ByteBuffer.wrap(bytes.toByteArray()));
+    }
+
+    @Test
+    @DisplayName("reads ascending id lists")
+    void readIds() throws IOException {
+        assertArrayEquals(new int[] {0, 3, 9}, encode(new int[] {0, 3, 9}).readIds(10));
+        assertArrayEquals(new int[0], encode(new int[0]).readIds(0));
+    }
+
+    @Test
+    @DisplayName("rejects unsorted, repeated or out of range ids")
+    void rejectsBadIds() {
+        assertThrows(IOException.class, () -> encode(new int[] {3, 1}).readIds(10));
+        assertThrows(IOException.class, () -> encode(new int[] {1, 1}).readIds(10));
+        assertThrows(IOException.class, () -> encode(new int[] {-1}).readIds(10));
+        assertThrows(IOException.class, () -> encode(new int[] {10}).readIds(10));
+    }
+
+    @Test
+    @DisplayName("rejects lengths past the end of the data")
+    void rejectsBadLength() {
+        ByteBuffer buffer = ByteBuffer.allocate(8).putInt(1_000_000).putInt(1).flip();
+        assertThrows(IOException.class, () -> new IndexCodec.Reader(buffer).readInts());
+    }
+}
@@ -0,0 +1,75 @@
+package com.cope.meteoraddons.search;
+
+import com.cope.meteoraddons.search.SearchCache.Key;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SearchCache")
+class SearchCacheTest {
+    private SearchCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SearchCache(3);
+    }
+
+    private static Key key(long version, String query) {
+        return new Key(version, query, SearchMode.RANKED, FacetSelection.NONE);
+    }
+
+    @Test
+    @DisplayName("keys on query, mode and facets")
+    void keys() {
+        int[] ids = {1, 2};
+        cache.put(key(1, "pvp"), ids);
+
+        assertSame(ids, cache.get(key(1, "pvp")));
+        assertNull(cache.get(key(1, "hud")));
+        assertNull(cache.get(new Key(1, "pvp", SearchMode.SUBSTRING, FacetSelection.NONE)));
+        assertNull(cache.get(new Key(1, "pvp", SearchMode.RANKED,
+            FacetSelection.NONE.toggle(FacetGroup.VERIFIED, FacetIndex.YES))));
+        // Toggling a value on and off again is the same selection
+        assertNotNull(cache.get(new Key(1, "pvp", SearchMode.RANKED, FacetSelection.NONE.toggle(FacetGroup.TAG, "a")
+            .toggle(FacetGroup.TAG, "a"))));
+    }
+
+    @Test
+    @DisplayName("evicts the least recently used entry")
+    void evictsLeastRecentlyUsed() {
+        cache.put(key(1, "a"), new int[0]);
+        cache.put(key(1, "b"), new int[0]);
+        cache.put(key(1, "c"), new int[0]);
+        cache.get(key(1, "a"));
+        cache.put(key(1, "d"), new int[0]);
+
+        assertNotNull(cache.get(key(1, "a")));
+        assertNull(cache.get(key(1, "b")));
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    @DisplayName("drops entries of older snapshots once a newer one is seen")
+    void invalidatesOlderSnapshots() {
+        cache.put(key(1, "a"), new int[0]);
+        cache.put(key(1, "b"), new int[0]);
+        cache.put(key(2, "a"), new int[0]);
+
+        assertNull(cache.get(key(1, "a")));
+        assertNull(cache.get(key(1, "b")));
+        assertEquals(1, cache.size());
+
+        cache.put(key(1, "c"), new int[0]);
+        assertNull(cache.get(key(1, "c")));
+    }
+
+    @Test
+    @DisplayName("gives every index build a new version")
+    void versions() {
+        SearchIndex first = SearchIndex.build(SearchIndexTest.catalog());
+        SearchIndex second = SearchIndex.build(SearchIndexTest.catalog());
+        assertTrue(second.getVersion() > first.getVersion());
+    }
+}
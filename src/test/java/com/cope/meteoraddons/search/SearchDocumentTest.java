@@ -0,0 +1,98 @@
+package com.cope.meteoraddons.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.cope.meteoraddons.addons.OnlineAddon;
+
+import java.util.List;
+
+import static com.cope.meteoraddons.search.SearchIndexTest.addon;
+import static com.cope.meteoraddons.search.SearchIndexTest.feature;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SearchDocument")
+class SearchDocumentTest {
+    private SearchDocument document;
+
+    @BeforeEach
+    void setUp() {
+        document = SearchDocument.of(addon("Orión", "PvP utilities", List.of("GhostTypes"),
+            List.of("Auto Crystal", "Surround"), List.of("pvp")));
+    }
+
+    @Test
+    @DisplayName("folds every field once")
+    void foldsFields() {
+        assertEquals(6, document.getFieldCount());
+        assertEquals("orion", document.getField(0));
+        assertEquals("pvp utilities", document.getField(1));
+        assertEquals("ghosttypes", document.getField(2));
+        assertEquals("auto crystal", document.getField(3));
+        assertEquals("surround", document.getField(4));
+        assertEquals("pvp", document.getField(5));
+    }
+
+    @Test
+    @DisplayName("records the kind of each field")
+    void fieldKinds() {
+        assertEquals(SearchField.NAME, document.getFieldKind(0));
+        assertEquals(SearchField.DESCRIPTION, document.getFieldKind(1));
+        assertEquals(SearchField.AUTHOR, document.getFieldKind(2));
+        assertEquals(SearchField.MODULE, document.getFieldKind(3));
+        assertEquals(SearchField.MODULE, document.getFieldKind(4));
+        assertEquals(SearchField.TAG, document.getFieldKind(5));
+    }
+
+    @Test
+    @DisplayName("maps text offsets back to fields")
+    void fieldAt() {
+        String text = document.getText();
+        assertEquals(0, document.fieldAt(0));
+        assertEquals(1, document.fieldAt(text.indexOf("utilities")));
+        assertEquals(3, document.fieldAt(text.indexOf("crystal")));
+        assertEquals(5, document.fieldAt(text.length() - 1));
+    }
+
+    @Test
+    @DisplayName("does not match across field boundaries")
+    void noCrossFieldMatch() {
+        assertTrue(document.contains("ghost"));
+        assertTrue(document.contains("auto crystal"));
+        assertFalse(document.contains("utilitiesghost"));
+        assertFalse(document.contains("utilities ghost"));
+    }
+
+    @Test
+    @DisplayName("skips empty fields")
+    void skipsEmpty() {
+        SearchDocument sparse = SearchDocument.of(addon("Bare", "", List.of(), List.of(), List.of()));
+        assertEquals(1, sparse.getFieldCount());
+        assertEquals("bare", sparse.getText());
+    }
+
+    @Test
+    @DisplayName("indexes HUD elements and the words of camel case names")
+    void featureNames() {
+        OnlineAddon addon = addon("HUD Plus", "", List.of(), List.of("AutoTotem"), List.of());
+        addon.getMetadata().features.hud_elements = List.of(feature("ArmorDisplay", "Shows armor"));
+        SearchDocument hud = SearchDocument.of(addon);
+
+        assertEquals(List.of("hud plus", "autototem", "auto totem", "armordisplay", "armor display"),
+            List.of(hud.getField(0), hud.getField(1), hud.getField(2), hud.getField(3), hud.getField(4)));
+        assertEquals(SearchField.MODULE, hud.getFieldKind(2));
+        assertEquals(SearchField.HUD, hud.getFieldKind(4));
+        assertFalse(hud.contains("shows armor"));
+    }
+
+    @Test
+    @DisplayName("indexes a feature's name and description")
+    void featureDocument() {
+        SearchDocument module = SearchDocument.of(new Feature(SearchField.MODULE, "AutoTotem", "Holds a totem"));
+        assertEquals(3, module.getFieldCount());
+        assertEquals("auto totem", module.getField(1));
+        assertEquals(SearchField.DESCRIPTION, module.getFieldKind(2));
+        assertTrue(module.contains("holds a totem"));
+    }
+}
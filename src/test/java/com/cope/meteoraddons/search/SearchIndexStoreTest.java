@@ -0,0 +1,134 @@
+package com.cope.meteoraddons.search;
+
+import com.cope.meteoraddons.addons.Addon;
+import com.cope.meteoraddons.addons.OnlineAddon;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static com.cope.meteoraddons.search.SearchIndexTest.catalog;
+import static com.cope.meteoraddons.search.SearchIndexTest.feature;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SearchIndexStore")
+class SearchIndexStoreTest {
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+    private SearchIndexStore store;
+    private List<Addon> installed;
+    private List<Addon> online;
+    private SearchIndex built;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = tempDir.resolve("search").resolve("search-index.bin");
+        store = new SearchIndexStore(file);
+        installed = List.of(new SearchIndexTest.Installed("Orion", "orion-addon", "Installed copy"));
+        online = catalog();
+        ((OnlineAddon) online.get(0)).getMetadata().features.hud_elements = List.of(feature("TotemCount", "Totems left"));
+        built = SearchIndex.build(installed, online);
+        store.store("hash", built);
+    }
+
+    private static List<String> names(List<Addon> addons) {
+        return addons.stream().map(Addon::getName).toList();
+    }
+
+    @Test
+    @DisplayName("Loaded indexes answer every query like the built one")
+    void roundTrip() {
+        SearchIndex loaded = store.load("hash", installed, online).orElseThrow();
+
+        assertEquals(built.size(), loaded.size());
+        for (String query : List.of("", "pvp", "or", "auto crystl", "surround", "orion-addon", "totems")) {
+            for (SearchMode mode : SearchMode.values()) {
+                SearchResult expected = built.search(query, mode, FacetSelection.NONE.only(FacetGroup.SCOPE, FacetIndex.ALL));
+                SearchResult found = loaded.search(query, mode, FacetSelection.NONE.only(FacetGroup.SCOPE, FacetIndex.ALL));
+                assertEquals(names(expected.getAddons()), names(found.getAddons()), query + " " + mode);
+                assertEquals(expected.getFeatures().values().stream().toList(),
+                    found.getFeatures().values().stream().toList(), query + " " + mode);
+                assertEquals(expected.getCount(FacetGroup.TAG, "pvp"), found.getCount(FacetGroup.TAG, "pvp"));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Loaded indexes are new snapshots for the result cache")
+    void newVersion() {
+        assertTrue(store.load("hash", installed, online).orElseThrow().getVersion() > built.getVersion());
+    }
+
+    @Test
+    @DisplayName("A different content hash or addon count misses")
+    void mismatchMisses() {
+        assertTrue(store.load("other", installed, online).isEmpty());
+        assertTrue(store.load("hash", List.of(), online).isEmpty());
+        assertTrue(Files.exists(file));
+    }
+
+    @Test
+    @DisplayName("Another format version misses")
+    void formatVersionMisses() throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer.wrap(bytes).putInt(4, SearchIndexStore.FORMAT_VERSION + 1);
+        Files.write(file, bytes);
+
+        assertTrue(store.load("hash", installed, online).isEmpty());
+    }
+
+    @Test
+    @DisplayName("A truncated file misses and is deleted")
+    void truncatedFile() throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length / 2));
+
+        assertEquals(Optional.empty(), store.load("hash", installed, online));
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    @DisplayName("A damaged body fails its checksum and is deleted")
+    void checksumMismatch() throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 5] ^= 0x10;
+        Files.write(file, bytes);
+
+        assertEquals(Optional.empty(), store.load("hash", installed, online));
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    @DisplayName("A missing file misses")
+    void missingFile() throws IOException {
+        Files.delete(file);
+        assertTrue(store.load("hash", installed, online).isEmpty());
+    }
+
+    @Test
+    @DisplayName("The same index always writes the same bytes")
+    void deterministic() throws IOException {
+        byte[] first = Files.readAllBytes(file);
+        store.store("hash", built);
+        assertArrayEquals(first, Files.readAllBytes(file));
+    }
+
+    @Test
+    @DisplayName("contentHash() changes with the catalog and the installed addons")
+    void contentHash() {
+        String hash = SearchIndexStore.contentHash("[catalog]", installed);
+        assertEquals(hash, SearchIndexStore.contentHash("[catalog]", installed));
+        assertNotEquals(hash, SearchIndexStore.contentHash("[catalog2]", installed));
+        assertNotEquals(hash, SearchIndexStore.contentHash("[catalog]", List.of()));
+    }
+}
@@ -0,0 +1,386 @@
+package com.cope.meteoraddons.search;
+
+import com.cope.meteoraddons.addons.Addon;
+import com.cope.meteoraddons.addons.OnlineAddon;
+import com.cope.meteoraddons.models.AddonMetadata;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SearchIndex")
+class SearchIndexTest {
+    private static SearchIndex index;
+
+    static AddonMetadata.FeatureItem feature(String name, String description) {
+        AddonMetadata.FeatureItem item = new AddonMetadata.FeatureItem();
+        item.name = name;
+        item.description = description;
+        return item;
+    }
+
+    static OnlineAddon addon(String name, String description, List<String> authors,
+                             List<String> modules, List<String> tags) {
+        AddonMetadata m = new AddonMetadata();
+        m.name = name;
+        m.description = description;
+        m.authors = authors;
+        m.features = new AddonMetadata.Features();
+        m.features.modules = modules.stream().map(module -> feature(module, null)).toList();
+        m.custom = new AddonMetadata.CustomMetadata();
+        m.custom.tags = tags;
+        return new OnlineAddon(m);
+    }
+
+    static List<Addon> catalog() {
+        return List.of(
+            addon("Meteor Rejects", "Modules rejected from Meteor", List.of("AntiCope"),
+                List.of("AutoTotem", "Coord Logger"), List.of("pvp")),
+            addon("Nora Tweaks", "Quality of life tweaks", List.of("Nora"),
+                List.of("Better Chat"), List.of("qol", "chat")),
+            addon("Orion", "PvP utilities", List.of("GhostTypes"),
+                List.of("Auto Crystal", "Surround"), List.of("pvp")),
+            addon("HUD Plus", "Extra HUD elements", List.of("someone"),
+                List.of(), List.of("hud"))
+        );
+    }
+
+    /**
+     * Installed addon as the Fabric scan would report it.
+     */
+    record Installed(String getName, String getId, String description) implements Addon {
+        @Override
+        public Optional<String> getDescription() {
+            return Optional.ofNullable(description);
+        }
+
+        @Override
+        public List<String> getAuthors() {
+            return List.of();
+        }
+
+        @Override
+        public String getVersion() {
+            return "1.0.0";
+        }
+
+        @Override
+        public Optional<InputStream> getIconStream() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<String> getGithubUrl() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<String> getDiscordUrl() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<String> getHomepageUrl() {
+            return Optional.empty();
+        }
+
+        @Override
+        public boolean isInstalled() {
+            return true;
+        }
+    }
+
+    @BeforeAll
+    static void buildIndex() {
+        index = SearchIndex.build(catalog());
+    }
+
+    private static List<String> names(List<Addon> addons) {
+        return addons.stream().map(Addon::getName).toList();
+    }
+
+    @Nested
+    @DisplayName("search()")
+    class Search {
+
+        @ParameterizedTest(name = "\"{0}\" -> {1}")
+        @CsvSource(delimiter = '|', value = {
+            "rejects       | Meteor Rejects",
+            "METEOR        | Meteor Rejects",
+            "tweaks        | Nora Tweaks",
+            "ghosttypes    | Orion",
+            "autototem     | Meteor Rejects",
+            "hud           | HUD Plus",
+            "qol           | Nora Tweaks"
+        })
+        void findsByField(String query, String expected) {
+            assertEquals(List.of(expected), names(index.search(query)));
+        }
+
+        @Test
+        @DisplayName("returns matches in catalog order")
+        void catalogOrder() {
+            assertEquals(List.of("Meteor Rejects", "Orion"), names(index.search("pvp")));
+        }
+
+        @Test
+        @DisplayName("verifies candidates whose trigrams come from different places")
+        void verifiesCandidates() {
+            // "auto crystal" and "pvp utilities" give Orion every trigram of "autilities", but not the string
+            assertTrue(index.search("autilities").isEmpty());
+        }
+
+        @Test
+        @DisplayName("handles queries shorter than a trigram")
+        void shortQueries() {
+            assertEquals(List.of("Orion"), names(index.search("ri")));
+            assertEquals(4, index.search("o").size());
+        }
+
+        @Test
+        @DisplayName("ignores accents and width in both the catalog and the query")
+        void folding() {
+            SearchIndex accented = SearchIndex.build(List.of(
+                addon("Café Utils", "Crème brûlée", List.of("Zoë"), List.of(), List.of())));
+
+            assertEquals(1, accented.search("cafe").size());
+            assertEquals(1, accented.search("CREME BRULEE").size());
+            assertEquals(1, accented.search("ｚｏｅ").size());
+            assertEquals(1, index.search("Orión").size());
+        }
+
+        @Test
+        @DisplayName("returns everything for an empty query and nothing for unknown text")
+        void emptyAndUnknown() {
+            assertEquals(4, index.search("").size());
+            assertEquals(4, index.search(null).size());
+            assertTrue(index.search("xyzzy").isEmpty());
+        }
+
+        @Test
+        @DisplayName("matches the same addons as a linear scan")
+        void agreesWithScan() {
+            List<Addon> addons = catalog();
+            SearchIndex built = SearchIndex.build(addons);
+            for (String query : List.of("or", "ort", "tweak", "ul", "meteor r", "auto c", "ity o")) {
+                List<String> expected = new ArrayList<>();
+                for (Addon addon : addons) {
+                    SearchDocument document = SearchDocument.of(addon);
+                    for (int field = 0; field < document.getFieldCount(); field++) {
+                        if (document.getField(field).contains(query)) {
+                            expected.add(addon.getName());
+                            break;
+                        }
+                    }
+                }
+                assertEquals(expected, names(built.search(query)), query);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("search() ranked")
+    class Ranked {
+
+        private List<String> ranked(String query) {
+            return names(index.search(query, SearchMode.RANKED));
+        }
+
+        @ParameterizedTest(name = "\"{0}\" -> {1}")
+        @CsvSource(delimiter = '|', value = {
+            "meteor rejcts   | Meteor Rejects",
+            "tweeks          | Nora Tweaks",
+            "surround orion  | Orion",
+            "autototm        | Meteor Rejects",
+            "qual            | Nora Tweaks"
+        })
+        void toleratesTyposAndWordOrder(String query, String expected) {
+            assertEquals(List.of(expected), ranked(query));
+        }
+
+        @Test
+        @DisplayName("ranks name over modules over tags over description")
+        void fieldWeights() {
+            SearchIndex weighted = SearchIndex.build(List.of(
+                addon("Alpha", "crystal", List.of("a"), List.of(), List.of()),
+                addon("Delta", null, List.of("d"), List.of(), List.of("crystal")),
+                addon("Gamma", null, List.of("c"), List.of("Crystal"), List.of()),
+                addon("Crystal", null, List.of("b"), List.of(), List.of())));
+
+            List<String> expected = List.of("Crystal", "Gamma", "Delta", "Alpha");
+            assertEquals(expected, names(weighted.search("crystal", SearchMode.RANKED)));
+            assertEquals(expected, names(weighted.search("cristal", SearchMode.RANKED)));
+        }
+
+        @Test
+        @DisplayName("includes every substring match")
+        void includesSubstringMatches() {
+            for (String query : List.of("or", "ort", "tweak", "ul", "meteor r", "auto c", "ity o")) {
+                assertTrue(ranked(query).containsAll(names(index.search(query))), query);
+            }
+        }
+
+        @Test
+        @DisplayName("returns everything in catalog order for an empty query")
+        void emptyQuery() {
+            assertEquals(names(index.search("")), ranked(""));
+            assertTrue(ranked("xyzzy").isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("build() with installed addons")
+    class WithInstalled {
+        private final SearchIndex combined = SearchIndex.build(
+            List.of(new Installed("Orion", "orion-addon", null), new Installed("Local Tools", "local-tools", "Handy things")),
+            catalog());
+
+        private List<String> search(String query, String scope) {
+            FacetSelection selection = FacetSelection.NONE.only(FacetGroup.SCOPE, scope);
+            return names(combined.search(query, SearchMode.RANKED, selection).getAddons());
+        }
+
+        @Test
+        @DisplayName("indexes installed addons with their catalog entry's fields")
+        void joinsListing() {
+            assertEquals(List.of("Orion"), search("surround", FacetIndex.INSTALLED));
+            assertEquals(List.of("Orion"), search("orion-addon", FacetIndex.INSTALLED));
+            assertEquals(List.of("Local Tools"), search("handy", FacetIndex.INSTALLED));
+        }
+
+        @Test
+        @DisplayName("scopes results to installed, online or both")
+        void scopes() {
+            assertEquals(List.of("Orion", "Local Tools"), search("", FacetIndex.INSTALLED));
+            assertEquals(List.of("Meteor Rejects", "Nora Tweaks", "Orion", "HUD Plus"), search("", FacetIndex.ONLINE));
+            assertEquals(List.of("Orion", "Local Tools", "Meteor Rejects", "Nora Tweaks", "HUD Plus"), search("", FacetIndex.ALL));
+        }
+
+        @Test
+        @DisplayName("lists an installed addon once when searching both")
+        void mergesTwins() {
+            List<Addon> found = combined.search("pvp", SearchMode.RANKED,
+                FacetSelection.NONE.only(FacetGroup.SCOPE, FacetIndex.ALL)).getAddons();
+
+            assertEquals(List.of("Orion", "Meteor Rejects"), names(found));
+            assertInstanceOf(Installed.class, found.get(0));
+        }
+
+        @Test
+        @DisplayName("applies catalog facets to installed addons")
+        void facets() {
+            FacetSelection selection = FacetSelection.NONE
+                .only(FacetGroup.SCOPE, FacetIndex.INSTALLED)
+                .toggle(FacetGroup.TAG, "pvp");
+            assertEquals(List.of("Orion"), names(combined.search("", SearchMode.RANKED, selection).getAddons()));
+        }
+    }
+
+    @Nested
+    @DisplayName("search() over features")
+    class Features {
+        private SearchIndex features;
+
+        @BeforeEach
+        void setUp() {
+            List<Addon> catalog = catalog();
+            AddonMetadata.Features rejects = ((OnlineAddon) catalog.get(0)).getMetadata().features;
+            rejects.modules = List.of(feature("AutoTotem", "Holds a totem in your offhand"),
+                feature("Coord Logger", "Logs coordinates of distant events"));
+            rejects.commands = List.of(feature("locate", "Finds structures"));
+            ((OnlineAddon) catalog.get(3)).getMetadata().features.hud_elements =
+                List.of(feature("ArmorDisplay", "Shows durability of your armor"));
+            features = SearchIndex.build(catalog);
+        }
+
+        private SearchResult search(String query) {
+            return features.search(query, SearchMode.FEATURES, FacetSelection.NONE);
+        }
+
+        private List<String> featureNames(SearchResult result, int addon) {
+            return result.getFeatures(result.getAddons().get(addon)).stream().map(Feature::getName).toList();
+        }
+
+        @Test
+        @DisplayName("finds camel case modules by their words and lists them under their addon")
+        void groupsUnderAddon() {
+            SearchResult result = search("auto totem");
+            assertEquals(List.of("Meteor Rejects"), names(result.getAddons()));
+            assertEquals(List.of("AutoTotem"), featureNames(result, 0));
+        }
+
+        @Test
+        @DisplayName("matches descriptions, commands and HUD elements")
+        void matchesEveryKind() {
+            assertEquals(List.of("AutoTotem"), featureNames(search("offhand"), 0));
+            assertEquals(List.of("locate"), featureNames(search("structures"), 0));
+
+            SearchResult hud = search("durability");
+            assertEquals(List.of("HUD Plus"), names(hud.getAddons()));
+            assertEquals(SearchField.HUD, hud.getFeatures(hud.getAddons().get(0)).get(0).getKind());
+        }
+
+        @Test
+        @DisplayName("orders addons by their best feature and keeps each addon's features together")
+        void ordersByBestFeature() {
+            SearchResult result = search("auto");
+            assertEquals(List.of("Meteor Rejects", "Orion"), names(result.getAddons()));
+            assertEquals(List.of("AutoTotem"), featureNames(result, 0));
+            assertEquals(List.of("Auto Crystal"), featureNames(result, 1));
+        }
+
+        @Test
+        @DisplayName("needs every word in one feature")
+        void wordsInOneFeature() {
+            assertTrue(search("totem surround").getAddons().isEmpty());
+            assertFalse(features.search("totem rejects", SearchMode.RANKED).isEmpty());
+            assertTrue(search("totem rejects").getAddons().isEmpty());
+        }
+
+        @Test
+        @DisplayName("applies facets to the addons")
+        void facets() {
+            SearchResult result = features.search("auto", SearchMode.FEATURES, FacetSelection.NONE.toggle(FacetGroup.AUTHOR, "ghosttypes"));
+            assertEquals(List.of("Orion"), names(result.getAddons()));
+            assertEquals(1, result.getCount(FacetGroup.AUTHOR, "anticope"));
+            assertEquals(List.of("Orion"), List.copyOf(result.getFeatures().keySet()).stream().map(Addon::getName).toList());
+        }
+
+        @Test
+        @DisplayName("returns every addon and no features for an empty query")
+        void emptyQuery() {
+            SearchResult result = search("");
+            assertEquals(4, result.getAddons().size());
+            assertTrue(result.getFeatures().isEmpty());
+        }
+
+        @Test
+        @DisplayName("gives the same results through a session")
+        void session() {
+            SearchSession session = new SearchSession(features, new SearchCache(16));
+            for (String query : List.of("auto", "auto totem", "auto")) {
+                SearchResult expected = search(query);
+                SearchResult found = session.search(query, SearchMode.FEATURES, FacetSelection.NONE);
+                assertEquals(expected.getAddons(), found.getAddons(), query);
+                assertEquals(expected.getFeatures(), found.getFeatures(), query);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("intersect() keeps common ids in order")
+    void intersect() {
+        assertArrayEquals(new int[] {2, 5, 9}, DocumentIndex.intersect(new int[] {1, 2, 5, 7, 9}, new int[] {2, 3, 5, 9, 11}));
+        assertArrayEquals(new int[0], DocumentIndex.intersect(new int[] {1}, new int[] {2}));
+    }
+}
@@ -0,0 +1,104 @@
+package com.cope.meteoraddons.search;
+
+import com.cope.meteoraddons.addons.Addon;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SearchSession")
+class SearchSessionTest {
+    private SearchIndex index;
+    private SearchSession session;
+
+    @BeforeEach
+    void setUp() {
+        index = SearchIndex.build(SearchIndexTest.catalog());
+        session = new SearchSession(index);
+    }
+
+    @Test
+    @DisplayName("returns the same results as the index for every keystroke")
+    void agreesWithIndex() {
+        String typed = "meteor rejects";
+        for (int length = 0; length <= typed.length(); length++) {
+            String query = typed.substring(0, length);
+            assertEquals(index.search(query), session.search(query), query);
+        }
+        for (int length = typed.length(); length >= 0; length--) {
+            String query = typed.substring(0, length);
+            assertEquals(index.search(query), session.search(query), query);
+        }
+    }
+
+    @Test
+    @DisplayName("refines extended queries from the previous results")
+    void refinesExtensions() {
+        session.search("a");
+        session.search("au");
+        session.search("aut");
+        session.search("auto");
+
+        assertEquals(3, session.getRefinementCount());
+    }
+
+    @Test
+    @DisplayName("answers backspacing from the cache")
+    void reusesOnBackspace() {
+        session.search("pv");
+        List<Addon> first = session.search("pvp");
+        session.search("pvpx");
+        int refinements = session.getRefinementCount();
+
+        List<Addon> again = session.search("pvp");
+
+        assertEquals(first, again);
+        assertEquals(refinements, session.getRefinementCount());
+    }
+
+    @Test
+    @DisplayName("treats queries case-insensitively")
+    void caseInsensitive() {
+        assertEquals(session.search("orion"), session.search("ORION"));
+        assertEquals(0, session.getRefinementCount());
+    }
+
+    @Test
+    @DisplayName("runs ranked queries against the whole index")
+    void rankedQueries() {
+        String typed = "meteor rejcts";
+        for (int length = 0; length <= typed.length(); length++) {
+            String query = typed.substring(0, length);
+            assertEquals(index.search(query, SearchMode.RANKED), session.search(query, SearchMode.RANKED), query);
+        }
+        assertEquals(0, session.getRefinementCount());
+        assertNotEquals(session.search(typed), session.search(typed, SearchMode.RANKED));
+    }
+
+    @Test
+    @DisplayName("shares results with later sessions on the same index")
+    void sharedBetweenSessions() {
+        SearchCache cache = new SearchCache(16);
+        FacetSelection pvp = FacetSelection.NONE.toggle(FacetGroup.TAG, "pvp");
+        SearchResult first = new SearchSession(index, cache).search("o", SearchMode.RANKED, pvp);
+        int cached = cache.size();
+
+        SearchResult again = new SearchSession(index, cache).search("o", SearchMode.RANKED, pvp);
+
+        assertEquals(2, cached);
+        assertEquals(cached, cache.size());
+        assertEquals(first.getAddons(), again.getAddons());
+        assertEquals(first.getCount(FacetGroup.TAG, "hud"), again.getCount(FacetGroup.TAG, "hud"));
+    }
+
+    @Test
+    @DisplayName("falls back to the index when no prefix is cached")
+    void noCachedPrefix() {
+        session.search("tweaks");
+        assertEquals(0, session.getRefinementCount());
+        assertEquals(1, session.search("tweaks").size());
+    }
+}
@@ -0,0 +1,121 @@
+package com.cope.meteoraddons.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SearchWorker")
+class SearchWorkerTest {
+    private static final long DEBOUNCE_MS = 50;
+
+    private ScheduledExecutorService thread;
+    /**
+     * Stands in for the render thread: deliveries wait here until the test runs them.
+     */
+    private BlockingQueue<Runnable> renderThread;
+    private List<SearchResult> applied;
+    private SearchIndex index;
+    private SearchWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        thread = Executors.newSingleThreadScheduledExecutor();
+        renderThread = new LinkedBlockingQueue<>();
+        applied = new ArrayList<>();
+        index = SearchIndex.build(SearchIndexTest.catalog());
+        worker = new SearchWorker(thread, renderThread::add, DEBOUNCE_MS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        thread.shutdownNow();
+    }
+
+    private Runnable nextDelivery() throws InterruptedException {
+        Runnable delivery = renderThread.poll(5, TimeUnit.SECONDS);
+        assertNotNull(delivery, "no result delivered");
+        return delivery;
+    }
+
+    private void assertNoDelivery() throws InterruptedException {
+        assertNull(renderThread.poll(DEBOUNCE_MS * 3, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("searches only the last of several quick keystrokes")
+    void debounces() throws InterruptedException {
+        for (String query : List.of("o", "or", "ori", "orio")) {
+            worker.search(index, query, SearchMode.SUBSTRING, FacetSelection.NONE, applied::add);
+        }
+
+        nextDelivery().run();
+        assertNoDelivery();
+        assertEquals(1, applied.size());
+        assertEquals(index.search("orio"), applied.get(0).getAddons());
+    }
+
+    @Test
+    @DisplayName("drops a result superseded before it is applied")
+    void dropsOutdatedResults() throws InterruptedException {
+        worker.searchNow(index, "pvp", SearchMode.SUBSTRING, FacetSelection.NONE, applied::add);
+        Runnable outdated = nextDelivery();
+
+        worker.searchNow(index, "hud", SearchMode.SUBSTRING, FacetSelection.NONE, applied::add);
+        Runnable latest = nextDelivery();
+        outdated.run();
+        latest.run();
+
+        assertEquals(1, applied.size());
+        assertEquals(index.search("hud"), applied.get(0).getAddons());
+    }
+
+    @Test
+    @DisplayName("applies nothing after cancel")
+    void cancel() throws InterruptedException {
+        worker.search(index, "pvp", SearchMode.RANKED, FacetSelection.NONE, applied::add);
+        worker.cancel();
+        assertNoDelivery();
+
+        worker.searchNow(index, "pvp", SearchMode.RANKED, FacetSelection.NONE, applied::add);
+        Runnable delivery = nextDelivery();
+        worker.cancel();
+        delivery.run();
+
+        assertTrue(applied.isEmpty());
+    }
+
+    @Test
+    @DisplayName("applies the facet selection")
+    void facets() throws InterruptedException {
+        FacetSelection pvp = FacetSelection.NONE.toggle(FacetGroup.TAG, "pvp");
+        worker.searchNow(index, "", SearchMode.SUBSTRING, pvp, applied::add);
+        nextDelivery().run();
+
+        assertEquals(index.search("pvp"), applied.get(0).getAddons());
+    }
+
+    @Test
+    @DisplayName("uses the index it is given")
+    void followsIndex() throws InterruptedException {
+        worker.searchNow(index, "", SearchMode.SUBSTRING, FacetSelection.NONE, applied::add);
+        nextDelivery().run();
+
+        SearchIndex smaller = SearchIndex.build(SearchIndexTest.catalog().subList(0, 2));
+        worker.searchNow(smaller, "", SearchMode.SUBSTRING, FacetSelection.NONE, applied::add);
+        nextDelivery().run();
+
+        assertEquals(4, applied.get(0).getAddons().size());
+        assertEquals(2, applied.get(1).getAddons().size());
+    }
+}
@@ -0,0 +1,72 @@
+package com.cope.meteoraddons.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+
+import static com.cope.meteoraddons.search.SearchIndexTest.addon;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TermIndex")
+class TermIndexTest {
+
+    private static TermIndex index(SearchDocument... docs) {
+        return TermIndex.build(docs);
+    }
+
+    @Test
+    @DisplayName("splits text into words at punctuation and spaces")
+    void words() {
+        assertEquals(List.of("auto", "totem", "x1"), TermIndex.words("auto-totem  x1 "));
+        assertEquals(List.of(), TermIndex.words(" - "));
+    }
+
+    @ParameterizedTest(name = "{0} letters -> {1} typos")
+    @CsvSource({"2, 0", "3, 0", "4, 1", "7, 1", "8, 2", "12, 2"})
+    void maxTypos(int length, int expected) {
+        assertEquals(expected, TermIndex.maxTypos(length));
+    }
+
+    @Test
+    @DisplayName("requires every word to match")
+    void allWords() {
+        TermIndex terms = index(
+            SearchDocument.of(addon("Meteor Rejects", null, List.of(), List.of(), List.of())),
+            SearchDocument.of(addon("Meteor Tweaks", null, List.of(), List.of(), List.of())));
+
+        float[] scores = terms.score(List.of("meteor", "rejects"), false);
+        assertTrue(scores[0] > 0);
+        assertEquals(0, scores[1]);
+    }
+
+    @Test
+    @DisplayName("scores exact matches above prefixes and typos")
+    void matchQuality() {
+        TermIndex terms = index(SearchDocument.of(addon("Crystal", null, List.of(), List.of(), List.of())));
+
+        float exact = terms.score(List.of("crystal"), false)[0];
+        float prefix = terms.score(List.of("crys"), true)[0];
+        float typo = terms.score(List.of("crystl"), false)[0];
+
+        assertTrue(exact > prefix);
+        assertTrue(prefix > typo);
+        assertTrue(typo > 0);
+        assertEquals(0, terms.score(List.of("crys"), false)[0]);
+    }
+
+    @Test
+    @DisplayName("counts rare terms more than common ones")
+    void idf() {
+        TermIndex terms = index(
+            SearchDocument.of(addon("Auto Crystal", null, List.of(), List.of(), List.of())),
+            SearchDocument.of(addon("Auto Totem", null, List.of(), List.of(), List.of())),
+            SearchDocument.of(addon("Auto Armor", null, List.of(), List.of(), List.of())));
+
+        float[] common = terms.score(List.of("auto"), false);
+        float[] rare = terms.score(List.of("totem"), false);
+        assertTrue(rare[1] > common[1]);
+    }
+}
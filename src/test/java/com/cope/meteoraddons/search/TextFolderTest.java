@@ -0,0 +1,60 @@
+package com.cope.meteoraddons.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TextFolder")
+class TextFolderTest {
+
+    @ParameterizedTest(name = "\"{0}\" -> \"{1}\"")
+    @CsvSource(delimiter = '|', value = {
+        "Meteor Rejects | meteor rejects",
+        "Café           | cafe",
+        "CRÈME BRÛLÉE   | creme brulee",
+        "Ｍｅｔｅｏｒ       | meteor",
+        "İstanbul       | istanbul",
+        "Ⓐuto           | auto",
+        "ﬁsh            | fish"
+    })
+    void folds(String text, String expected) {
+        assertEquals(expected, TextFolder.fold(text));
+    }
+
+    @Test
+    @DisplayName("turns control characters into spaces")
+    void controls() {
+        assertEquals("a b c", TextFolder.fold("a\tb\u0000c"));
+        assertEquals(-1, TextFolder.fold("É\u0000").indexOf(SearchDocument.SEPARATOR));
+    }
+
+    @Test
+    @DisplayName("returns plain lowercase ASCII unchanged")
+    void asciiFastPath() {
+        String text = "auto crystal";
+        assertSame(text, TextFolder.fold(text));
+    }
+
+    @Test
+    @DisplayName("folds null and empty text to an empty string")
+    void empty() {
+        assertEquals("", TextFolder.fold(null));
+        assertEquals("", TextFolder.fold(""));
+    }
+
+    @ParameterizedTest(name = "\"{0}\" -> \"{1}\"")
+    @CsvSource(delimiter = '|', value = {
+        "AutoTotem    | Auto Totem",
+        "HUDPlus      | HUD Plus",
+        "Elytra2Fly   | Elytra2 Fly",
+        "autoCrystal  | auto Crystal",
+        "Auto Crystal | Auto Crystal",
+        "ESP          | ESP"
+    })
+    void splitsCamelCase(String name, String expected) {
+        assertEquals(expected, TextFolder.splitCamelCase(name));
+    }
+}
@@ -0,0 +1,96 @@
+package com.cope.meteoraddons.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IconUrlRewriter")
+class IconUrlRewriterTest {
+
+    @Nested
+    @DisplayName("supported hosts")
+    class SupportedHosts {
+
+        @ParameterizedTest(name = "{0} -> {2}")
+        @CsvSource({
+            "https://avatars.githubusercontent.com/u/123?v=4, 128, https://avatars.githubusercontent.com/u/123?v=4&s=128",
+            "https://avatars.githubusercontent.com/u/123, 64, https://avatars.githubusercontent.com/u/123?s=64",
+            "https://github.com/MeteorDevelopment.png, 128, https://github.com/MeteorDevelopment.png?size=128",
+            "https://www.gravatar.com/avatar/abc123, 128, https://www.gravatar.com/avatar/abc123?s=128",
+            "https://gravatar.com/avatar/abc123, 32, https://gravatar.com/avatar/abc123?s=32",
+            "https://cdn.discordapp.com/icons/1/abc.png, 128, https://cdn.discordapp.com/icons/1/abc.png?size=128",
+            "https://i.imgur.com/abcdefg.png, 128, https://i.imgur.com/abcdefgt.png",
+            "https://i.imgur.com/abcde.jpg, 200, https://i.imgur.com/abcdem.jpg"
+        })
+        void rewritesToRequestedSize(String url, int size, String expected) {
+            assertEquals(expected, IconUrlRewriter.rewrite(url, size));
+        }
+
+        @Test
+        @DisplayName("replaces an existing size parameter")
+        void replacesExistingSize() {
+            assertEquals("https://avatars.githubusercontent.com/u/123?v=4&s=128",
+                IconUrlRewriter.rewrite("https://avatars.githubusercontent.com/u/123?s=460&v=4", 128));
+        }
+
+        @Test
+        @DisplayName("keeps the fragment after the query")
+        void keepsFragment() {
+            assertEquals("https://www.gravatar.com/avatar/abc?s=64#top",
+                IconUrlRewriter.rewrite("https://www.gravatar.com/avatar/abc#top", 64));
+        }
+
+        @ParameterizedTest(name = "{0}px -> {1}")
+        @CsvSource({
+            "8, 16",
+            "16, 16",
+            "100, 128",
+            "128, 128",
+            "129, 256"
+        })
+        @DisplayName("rounds Discord sizes up to a power of two")
+        void roundsDiscordSizes(int size, int expected) {
+            assertEquals("https://cdn.discordapp.com/icons/1/abc.png?size=" + expected,
+                IconUrlRewriter.rewrite("https://cdn.discordapp.com/icons/1/abc.png?size=1024", size));
+        }
+    }
+
+    @Nested
+    @DisplayName("unchanged URLs")
+    class Unchanged {
+
+        @ParameterizedTest
+        @ValueSource(strings = {
+            "https://raw.githubusercontent.com/user/repo/main/icon.png",
+            "https://github.com/user/repo/raw/main/icon.png",
+            "https://example.com/icon.png",
+            "https://www.gravatar.com/profile/abc",
+            "https://i.imgur.com/abcdefgt.png",
+            "https://i.imgur.com/a/album",
+            "not a url",
+            "https://bad host/icon.png"
+        })
+        void leavesUrlAlone(String url) {
+            assertEquals(url, IconUrlRewriter.rewrite(url, 128));
+        }
+
+        @Test
+        @DisplayName("does not ask imgur for a thumbnail smaller than needed")
+        void imgurTooLarge() {
+            String url = "https://i.imgur.com/abcdefg.png";
+            assertEquals(url, IconUrlRewriter.rewrite(url, 512));
+        }
+
+        @ParameterizedTest
+        @NullAndEmptySource
+        void nullOrEmpty(String url) {
+            assertEquals(url, IconUrlRewriter.rewrite(url, 128));
+        }
+    }
+}